@@ -0,0 +1,99 @@
+package BrickBreakerGame;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Brick Bench Class
+// Ball-vs-brick query and brick layer drawing over the grid sizes the game plays: level 1, the
+// largest classic level and the endless window
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 500, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 5, time = 500, timeUnit = TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class BrickBench {
+    private static final int SEGMENTS = 1024;
+    
+    @Param({"4x7", "10x12", "21x10"})
+    public String grid;
+    
+    private GameSimulation sim;
+    private final double[] segments = new double[SEGMENTS * 4];
+    private int nextSegment = 0;
+    private BufferedImage target;
+    private Graphics2D g;
+    private int nextCell = 0;
+    
+    // Rows and columns of a "rows x cols" parameter
+    static int[] parseGrid(String grid) {
+        String[] parts = grid.split("x");
+        return new int[] { Integer.parseInt(parts[0]), Integer.parseInt(parts[1]) };
+    }
+    
+    @Setup
+    public void setup() {
+        int[] size = parseGrid(grid);
+        sim = new GameSimulation();
+        sim.loadGrid(size[0], size[1]);
+        
+        // Random short segments over the brick area
+        Random random = new Random(42);
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i * 4] = 60 + random.nextDouble() * 580;
+            segments[i * 4 + 1] = 30 + random.nextDouble() * 200;
+            double angle = random.nextDouble() * Math.PI * 2;
+            segments[i * 4 + 2] = Math.cos(angle) * 3.5;
+            segments[i * 4 + 3] = Math.sin(angle) * 3.5;
+        }
+        
+        target = new BufferedImage(GameSimulation.WIDTH, GameSimulation.HEIGHT, BufferedImage.TYPE_INT_ARGB);
+        g = target.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        sim.bricks.draw(g);
+    }
+    
+    // Query for one segment against the full grid (no bricks are removed)
+    @Benchmark
+    public double scan() {
+        int i = nextSegment;
+        nextSegment = (i + 1) & (SEGMENTS - 1);
+        return sim.findBrickHit(segments[i * 4], segments[i * 4 + 1], segments[i * 4 + 2],
+                                segments[i * 4 + 3], sim.ballSize / 2.0);
+    }
+    
+    // Brick layer re-rendered from scratch
+    @Benchmark
+    public int drawFull() {
+        sim.bricks.invalidate();
+        sim.bricks.draw(g);
+        return target.getRGB(100, 60);
+    }
+    
+    // Brick layer with one changed cell, as in a frame where a ball breaks a brick
+    @Benchmark
+    public int drawDirty() {
+        BrickGenerator bricks = sim.bricks;
+        int cols = bricks.cols();
+        int c = nextCell;
+        nextCell = (c + 1) % (bricks.rows() * cols);
+        int row = c / cols;
+        int col = c % cols;
+        bricks.setBrickValue(bricks.get(row, col) == 0 ? 1 : 0, row, col);
+        bricks.draw(g);
+        return target.getRGB(100, 60);
+    }
+}
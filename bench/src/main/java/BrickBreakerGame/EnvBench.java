@@ -0,0 +1,61 @@
+package BrickBreakerGame;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Env Bench Class
+// One vectorized training step over all environments with random actions; divide by envs for
+// the per-environment cost
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 500, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 5, time = 500, timeUnit = TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class EnvBench {
+    @Param({"1", "64", "1024"})
+    public int envs;
+    
+    private VectorEnv env;
+    private float[] obs;
+    private float[] rewards;
+    private boolean[] dones;
+    private int[] actions;
+    private final Random random = new Random(42);
+    
+    @Setup
+    public void setup() {
+        env = new VectorEnv(envs, new GameConfig(), 1, 100_000L, 1);
+        obs = new float[envs * env.obsSize()];
+        rewards = new float[envs];
+        dones = new boolean[envs];
+        actions = new int[envs];
+        env.reset(42, obs);
+    }
+    
+    @TearDown
+    public void tearDown() {
+        env.close();
+    }
+    
+    @Benchmark
+    public int step() {
+        for (int e = 0; e < envs; e++) {
+            actions[e] = random.nextInt(4);
+        }
+        env.step(actions, obs, rewards, dones);
+        return Float.floatToRawIntBits(obs[0]);
+    }
+}
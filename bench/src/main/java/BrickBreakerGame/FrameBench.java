@@ -0,0 +1,61 @@
+package BrickBreakerGame;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Frame Bench Class
+// A whole busy gameplay frame (50 balls, 2,000 particles, falling power-ups) at each quality tier,
+// from 0 (full) to 4 (flat)
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 500, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 5, time = 500, timeUnit = TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class FrameBench {
+    @Param({"0", "1", "2", "3", "4"})
+    public int tier;
+    
+    private GameSimulation sim;
+    private GameRenderer renderer;
+    private Graphics2D g;
+    
+    @Setup
+    public void setup() {
+        sim = GameTickBench.newGame(50, 8, 7);
+        sim.tick(GameSimulation.INPUT_LAUNCH);
+        for (int i = 0; i < 30; i++) {
+            sim.tick(0);
+        }
+        for (int burst = 0; burst < 20; burst++) {
+            sim.particles.emit(60 + (burst % 5) * 140, 80 + (burst / 5) * 130, new Color(231, 76, 60), 100);
+            sim.powerUps.add(new PowerUp(60 + burst * 30, 200 + burst * 10, PowerUp.TYPES[burst % PowerUp.TYPES.length]));
+        }
+        for (int i = 0; i < 10; i++) {
+            sim.particles.update();
+        }
+        renderer = new GameRenderer(sim.ballSize, null);
+        renderer.quality = new QualityGovernor(1, tier, false);
+        BufferedImage target = new BufferedImage(GameSimulation.WIDTH, GameSimulation.HEIGHT,
+                                                 BufferedImage.TYPE_INT_RGB);
+        g = target.createGraphics();
+    }
+    
+    @Benchmark
+    public int render() {
+        renderer.render(g, sim, 1);
+        return sim.particles.size();
+    }
+}
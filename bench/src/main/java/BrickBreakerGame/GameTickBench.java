@@ -0,0 +1,67 @@
+package BrickBreakerGame;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Game Tick Bench Class
+// Whole-game stepping with a paddle-tracking bot, restarting when the game ends
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 500, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 5, time = 500, timeUnit = TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class GameTickBench {
+    @Param({"1", "50", "500"})
+    public int balls;
+    
+    @Param({"4x7", "10x12", "21x10"})
+    public String grid;
+    
+    private int rows;
+    private int cols;
+    private GameSimulation sim;
+    
+    // A game in play with the given balls served and a full grid of bricks
+    static GameSimulation newGame(int balls, int rows, int cols) {
+        GameSimulation sim = new GameSimulation();
+        sim.serveBalls = balls;
+        sim.start();
+        sim.loadGrid(rows, cols);
+        return sim;
+    }
+    
+    @Setup
+    public void setup() {
+        int[] size = BrickBench.parseGrid(grid);
+        rows = size[0];
+        cols = size[1];
+        sim = newGame(balls, rows, cols);
+    }
+    
+    @Benchmark
+    public int tick() {
+        if (sim.gameState != GameState.PLAYING) {
+            sim = newGame(balls, rows, cols);
+        }
+        if (sim.isBallResting()) {
+            sim.tick(GameSimulation.INPUT_LAUNCH);
+        } else {
+            double target = sim.ballX[0] + sim.ballSize / 2.0;
+            double center = sim.playerX + sim.paddleWidth / 2.0;
+            sim.tick(target < center - 10 ? GameSimulation.INPUT_LEFT
+                   : target > center + 10 ? GameSimulation.INPUT_RIGHT : 0);
+        }
+        return sim.score;
+    }
+}
@@ -0,0 +1,66 @@
+package BrickBreakerGame;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Level Pack Bench Class
+// Decoding a generated level from a pack; no cache budget, so two levels take turns
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 500, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 5, time = 500, timeUnit = TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class LevelPackBench {
+    @Param({"4x7", "10x12", "21x10"})
+    public String grid;
+    
+    private Path path;
+    private LevelPack pack;
+    private int next = 1;
+    
+    @Setup
+    public void setup() throws IOException {
+        int[] size = BrickBench.parseGrid(grid);
+        int rows = size[0];
+        int cols = size[1];
+        path = Files.createTempFile("brickbreaker-levels", ".bblp");
+        LevelPackWriter writer = new LevelPackWriter();
+        LevelGenerator generator = new LevelGenerator(42);
+        for (int level = 1; level <= 2; level++) {
+            byte[] cells = new byte[rows * cols];
+            for (int row = 0; row < rows; row++) {
+                generator.fillRow(8, row, cols, cells, row * cols);
+            }
+            writer.add(LevelData.fitted(rows, cols, cells));
+        }
+        writer.finish(path);
+        pack = new LevelPack(path, 0);
+    }
+    
+    @TearDown
+    public void tearDown() throws IOException {
+        // The pack stays mapped until it is collected, so the file may outlive the run on Windows
+        path.toFile().deleteOnExit();
+    }
+    
+    @Benchmark
+    public int decode() throws IOException {
+        next = 3 - next;
+        return pack.level(next).cells.length;
+    }
+}
@@ -0,0 +1,76 @@
+package BrickBreakerGame;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Particle Bench Class
+// Pool update, and drawing the whole field or only a small clip (a dirty-region repaint, which
+// draws from the spatial grid)
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 500, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 5, time = 500, timeUnit = TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class ParticleBench {
+    private static final Color COLOR = new Color(231, 76, 60);
+    
+    @Param({"100", "1000", "4000"})
+    public int particles;
+    
+    private ParticleSystem pool;
+    private Graphics2D full;
+    private Graphics2D clipped;
+    
+    @Setup
+    public void setup() {
+        pool = new ParticleSystem(particles);
+        // Bursts spread over the field, as when explosions and multi-ball go off everywhere
+        for (int burst = 0; burst < 20; burst++) {
+            pool.emit(60 + (burst % 5) * 140, 80 + (burst / 5) * 130, COLOR, particles / 20);
+        }
+        for (int i = 0; i < 10; i++) {
+            pool.update();
+        }
+        BufferedImage target = new BufferedImage(GameSimulation.WIDTH, GameSimulation.HEIGHT,
+                                                 BufferedImage.TYPE_INT_ARGB);
+        full = target.createGraphics();
+        full.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        clipped = (Graphics2D) full.create();
+        clipped.setClip(new Rectangle(300, 250, 100, 100));
+    }
+    
+    // Bursts top the pool back up, so the live count stays near the parameter
+    @Benchmark
+    public int update() {
+        pool.update();
+        while (pool.size() < particles) {
+            pool.emit(350, 300, COLOR, Math.min(15, particles - pool.size()));
+        }
+        return pool.size();
+    }
+    
+    @Benchmark
+    public int draw() {
+        pool.draw(full);
+        return pool.size();
+    }
+    
+    @Benchmark
+    public int drawClipped() {
+        pool.draw(clipped);
+        return pool.size();
+    }
+}
@@ -0,0 +1,58 @@
+package BrickBreakerGame;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Run History Bench Class
+// What the game over screen asks of the run history: the top five and the rank of a score
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 500, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 5, time = 500, timeUnit = TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class RunHistoryBench {
+    @Param({"1000", "100000"})
+    public int runs;
+    
+    private Path path;
+    private RunHistory history;
+    private final Random random = new Random(42);
+    
+    @Setup
+    public void setup() throws IOException {
+        path = Files.createTempFile("brickbreaker-runs", ".bin");
+        Files.delete(path);
+        history = RunHistory.open(path, "bench");
+        for (int i = 0; i < runs; i++) {
+            history.append("player" + random.nextInt(50), random.nextInt(100_000), 1 + random.nextInt(20),
+                           0, random.nextInt(100_000), random.nextLong(), false, i);
+        }
+    }
+    
+    @TearDown
+    public void tearDown() throws IOException {
+        history.close();
+        Files.deleteIfExists(path);
+    }
+    
+    @Benchmark
+    public int leaderboard() {
+        return history.top(5).length + history.rankOf(random.nextInt(100_000));
+    }
+}
@@ -0,0 +1,47 @@
+package BrickBreakerGame;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Timer Wheel Bench Class
+// One tick of effect bookkeeping: a timer scheduled, one cancelled and the wheel advanced, with
+// many long timers pending
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 500, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 5, time = 500, timeUnit = TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class TimerWheelBench {
+    @Param({"10", "10000"})
+    public int pending;
+    
+    private TimerWheel wheel;
+    private final TimerWheel.Expiry expiry = (kind, handle) -> { };
+    
+    @Setup
+    public void setup() {
+        wheel = new TimerWheel(pending);
+        for (int i = 0; i < pending; i++) {
+            wheel.schedule(1_000_000 + i, 0);
+        }
+    }
+    
+    @Benchmark
+    public int tick() {
+        int handle = wheel.schedule(1250, 1);
+        wheel.cancel(handle);
+        wheel.advance(expiry);
+        return wheel.size();
+    }
+}
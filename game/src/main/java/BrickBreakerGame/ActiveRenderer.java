@@ -0,0 +1,156 @@
+package BrickBreakerGame;
+
+import java.awt.*;
+import java.awt.event.*;
+import java.awt.image.BufferStrategy;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+// Active Renderer Class
+// Optional render mode: a dedicated thread steps the simulation and draws straight into a
+// BufferStrategy at a fixed frame rate, instead of waiting for Swing to schedule repaints.
+// Key events are queued by the EDT and applied by the loop at the start of each frame, so
+// a key press reaches the screen within one frame plus one simulation tick.
+class ActiveRenderer extends Canvas implements KeyListener {
+    private static final long serialVersionUID = 1L;
+    
+    static final int DEFAULT_FPS = 120;
+    
+    // Sleep until this close to the deadline, then spin; OS sleeps overshoot by about a millisecond
+    private static final long SPIN_NANOS = 1_500_000L;
+    
+    // Thread.onSpinWait where the runtime has it (Java 9+); on Java 8 the wait is a plain spin
+    private static final MethodHandle SPIN_WAIT = spinWaitHandle();
+    
+    private final GameSimulation sim;
+    private final GameMetrics metrics = new GameMetrics();
+    private final GameControls controls = new GameControls(metrics);
+    private final GameRenderer renderer;
+    private final long frameNanos;
+    private final InputQueue keyEvents = new InputQueue(InputQueue.DEFAULT_CAPACITY);
+    private volatile boolean running = false;
+    private Thread loop;
+    
+    public ActiveRenderer(GameSimulation sim, int targetFps) {
+        this.sim = sim;
+        this.renderer = new GameRenderer(sim.ballSize, metrics);
+        sim.metrics = metrics;
+        sim.history = RunHistory.fromSystemProperties();
+        renderer.history = sim.history;
+        sim.events = GameEvents.fromSystemProperties();
+        sim.setLevelPack(LevelPack.fromSystemProperties());
+        metrics.exportOnExit();
+        this.frameNanos = 1_000_000_000L / targetFps;
+        renderer.quality = QualityGovernor.fromSystemProperties(frameNanos);
+        setPreferredSize(new Dimension(GameSimulation.WIDTH, GameSimulation.HEIGHT));
+        setIgnoreRepaint(true);
+        setFocusable(true);
+        setFocusTraversalKeysEnabled(false);
+        addKeyListener(this);
+    }
+    
+    // Call once the canvas is displayable (after the frame is shown)
+    public void start() {
+        createBufferStrategy(2);
+        requestFocus();
+        running = true;
+        loop = new Thread(this::run, "render-loop");
+        loop.setDaemon(true);
+        loop.start();
+    }
+    
+    public void stop() {
+        running = false;
+    }
+    
+    private void run() {
+        BufferStrategy strategy = getBufferStrategy();
+        long last = System.nanoTime();
+        long deadline = last + frameNanos;
+        
+        while (running) {
+            // Input first, so this frame already reflects it
+            while (!keyEvents.isEmpty()) {
+                int code = keyEvents.poll();
+                if (code >= 0) {
+                    controls.keyPressed(sim, code);
+                } else {
+                    controls.keyReleased(~code);
+                }
+            }
+            
+            long now = System.nanoTime();
+            controls.applyLoaded(sim);
+            sim.setHeldInput(controls.heldInput);
+            sim.advance((now - last) / 1e9);
+            last = now;
+            
+            long paintStart = System.nanoTime();
+            do {
+                do {
+                    Graphics2D g = (Graphics2D) strategy.getDrawGraphics();
+                    renderer.render(g, sim, sim.alpha());
+                    g.dispose();
+                } while (strategy.contentsRestored());
+                strategy.show();
+            } while (strategy.contentsLost());
+            Toolkit.getDefaultToolkit().sync();
+            renderer.framePainted(sim, System.nanoTime() - paintStart);
+            
+            pace(deadline);
+            deadline += frameNanos;
+            if (System.nanoTime() - deadline > frameNanos) {
+                // Fell more than a frame behind: resync rather than rush to catch up
+                deadline = System.nanoTime() + frameNanos;
+            }
+        }
+    }
+    
+    // Hybrid wait: coarse sleep, then a short spin for the last stretch
+    private static void pace(long deadline) {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > SPIN_NANOS) {
+            try {
+                Thread.sleep((remaining - SPIN_NANOS) / 1_000_000L);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (remaining - SPIN_NANOS < 1_000_000L) {
+                break;
+            }
+        }
+        while (deadline - System.nanoTime() > 0) {
+            if (SPIN_WAIT != null) {
+                try {
+                    SPIN_WAIT.invokeExact();
+                } catch (Throwable t) {
+                    throw new AssertionError(t);
+                }
+            }
+        }
+    }
+    
+    private static MethodHandle spinWaitHandle() {
+        try {
+            return MethodHandles.publicLookup().findStatic(Thread.class, "onSpinWait",
+                                                          MethodType.methodType(void.class));
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+    
+    @Override
+    public void keyPressed(KeyEvent e) {
+        keyEvents.offer(e.getKeyCode());
+    }
+    
+    @Override
+    public void keyReleased(KeyEvent e) {
+        keyEvents.offer(~e.getKeyCode());
+    }
+    
+    @Override
+    public void keyTyped(KeyEvent e) {}
+}
@@ -0,0 +1,43 @@
+package BrickBreakerGame;
+
+import java.util.Locale;
+
+// Batch Result Class
+// Aggregated outcome of a set of games
+class BatchResult {
+    long games = 0;
+    long gamesOver = 0;
+    long ticks = 0;
+    long livesLost = 0;
+    long levelsCleared = 0;
+    final Histogram scores = new Histogram();
+    final Histogram gameTicks = new Histogram();
+    final Histogram levelTicks = new Histogram(); // ticks from a level's first serve to its last brick
+    
+    void add(BatchResult other) {
+        games += other.games;
+        gamesOver += other.gamesOver;
+        ticks += other.ticks;
+        livesLost += other.livesLost;
+        levelsCleared += other.levelsCleared;
+        scores.add(other.scores);
+        gameTicks.add(other.gameTicks);
+        levelTicks.add(other.levelTicks);
+    }
+    
+    void print(double seconds, int threads) {
+        System.out.printf(Locale.ROOT, "%d games, %d ticks in %.2fs on %d threads (%.0f ticks/s)%n",
+                          games, ticks, seconds, threads, ticks / seconds);
+        System.out.printf(Locale.ROOT, "game over    %d of %d games%n", gamesOver, games);
+        System.out.printf(Locale.ROOT, "score        mean %.0f  p50 %d  p90 %d  p99 %d  max %d%n",
+                          scores.mean(), scores.percentile(50), scores.percentile(90),
+                          scores.percentile(99), scores.max());
+        System.out.printf(Locale.ROOT, "lives lost   %.2f per game%n", games == 0 ? 0 : livesLost / (double) games);
+        System.out.printf(Locale.ROOT, "levels       %.2f cleared per game%n", games == 0 ? 0 : levelsCleared / (double) games);
+        System.out.printf(Locale.ROOT, "level ticks  mean %.0f  p50 %d  p90 %d  p99 %d%n",
+                          levelTicks.mean(), levelTicks.percentile(50), levelTicks.percentile(90),
+                          levelTicks.percentile(99));
+        System.out.printf(Locale.ROOT, "game ticks   mean %.0f  p50 %d  p99 %d%n",
+                          gameTicks.mean(), gameTicks.percentile(50), gameTicks.percentile(99));
+    }
+}
@@ -0,0 +1,110 @@
+package BrickBreakerGame;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.LongFunction;
+
+// Batch Runner Class
+// Plays many independent headless games across a fork-join pool. Games share nothing but the
+// (read-only) config, and each leaf task accumulates into its own result, so throughput scales
+// with cores; results are merged on the way back up the task tree
+class BatchRunner {
+    private static final int GAMES_PER_TASK = 4;
+    
+    private final GameConfig config;
+    private final long maxTicks;
+    private final int startLevel;
+    private final LongFunction<Controller> controllers;
+    private long baseSeed = 0x5EEDL;
+    private LevelPack pack;
+    
+    public BatchRunner(GameConfig config, long maxTicks, int startLevel, LongFunction<Controller> controllers) {
+        this.config = config;
+        this.maxTicks = maxTicks;
+        this.startLevel = startLevel;
+        this.controllers = controllers;
+    }
+    
+    public void setBaseSeed(long baseSeed) {
+        this.baseSeed = baseSeed;
+    }
+    
+    public void setLevelPack(LevelPack pack) {
+        this.pack = pack;
+    }
+    
+    public BatchResult run(int games, int threads) {
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            return pool.invoke(new Batch(0, games));
+        } finally {
+            pool.shutdown();
+        }
+    }
+    
+    private class Batch extends RecursiveTask<BatchResult> {
+        private static final long serialVersionUID = 1L;
+        
+        private final int from;
+        private final int to;
+        
+        Batch(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+        
+        @Override
+        protected BatchResult compute() {
+            if (to - from <= GAMES_PER_TASK) {
+                BatchResult result = new BatchResult();
+                for (int g = from; g < to; g++) {
+                    play(baseSeed + g, result);
+                }
+                return result;
+            }
+            int mid = (from + to) >>> 1;
+            Batch left = new Batch(from, mid);
+            left.fork();
+            BatchResult result = new Batch(mid, to).compute();
+            result.add(left.join());
+            return result;
+        }
+    }
+    
+    // Plays one game to game over (or the tick limit), cosmetics off
+    void play(long seed, BatchResult result) {
+        GameSimulation sim = new GameSimulation(seed, 0, config);
+        Controller controller = controllers.apply(seed);
+        sim.setLevelPack(pack);
+        sim.selectLevel(startLevel);
+        sim.start();
+        int lives = sim.lives;
+        int levelsCleared = 0;
+        long levelStart = 0;
+        long ticks = 0;
+        GameState previous = sim.gameState;
+        while (ticks < maxTicks && sim.gameState != GameState.GAME_OVER) {
+            sim.tick(controller.input(sim));
+            ticks++;
+            if (sim.lives < lives) {
+                result.livesLost += lives - sim.lives;
+            }
+            lives = sim.lives;
+            if (sim.gameState == GameState.LEVEL_COMPLETE && previous != GameState.LEVEL_COMPLETE) {
+                result.levelTicks.record(sim.tickCount - levelStart);
+                levelsCleared++;
+            } else if (previous == GameState.LEVEL_COMPLETE && sim.gameState == GameState.PLAYING) {
+                levelStart = sim.tickCount;
+            }
+            previous = sim.gameState;
+        }
+        result.games++;
+        result.ticks += ticks;
+        result.levelsCleared += levelsCleared;
+        if (sim.gameState == GameState.GAME_OVER) {
+            result.gamesOver++;
+        }
+        result.scores.record(sim.score);
+        result.gameTicks.record(sim.tickCount);
+    }
+}
@@ -0,0 +1,498 @@
+package BrickBreakerGame;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.*;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Random;
+
+public class BrickBreaker extends JPanel implements KeyListener, ActionListener {
+    // Simulation runs on its own thread; painting works from a mirror restored from its snapshots
+    private final GameMetrics metrics = new GameMetrics();
+    private final SimulationThread simThread;
+    private final GameSimulation view = new GameSimulation(0, GameSimulation.DEFAULT_PARTICLE_CAPACITY, new GameConfig());
+    private final GameRenderer renderer = new GameRenderer(view.ballSize, metrics);
+    private long viewTickNanos = System.nanoTime();
+    private double viewAlpha = 0;
+    
+    // Dirty-rectangle mode (-Dbrickbreaker.repaint=dirty): each tick repaints only what changed,
+    // for software pipelines and remote displays where full-frame blits are expensive
+    private final DirtyRegion damage = "dirty".equals(System.getProperty("brickbreaker.repaint"))
+                                       ? new DirtyRegion(GameSimulation.WIDTH, GameSimulation.HEIGHT) : null;
+    private final Rectangle damageBounds = new Rectangle();
+    
+    // Timer and animation
+    private Timer timer;
+    private int delay = 8;
+    
+    // Past these, one full repaint is cheaper than many small ones
+    private static final double MAX_DIRTY_COVERAGE = 0.6;
+    private static final int MAX_DIRTY_RECTANGLES = 24;
+
+    public BrickBreaker() {
+        this(null);
+    }
+    
+    // Records every game played in this window to the given file, the latest game winning
+    public BrickBreaker(Path recordPath) {
+        addKeyListener(this);
+        setFocusable(true);
+        setFocusTraversalKeysEnabled(false);
+        setPreferredSize(new Dimension(GameSimulation.WIDTH, GameSimulation.HEIGHT));
+        GameSimulation sim = new GameSimulation();
+        sim.metrics = metrics;
+        if (recordPath != null) {
+            sim.recorder = new ReplayRecorder(recordPath);
+        }
+        sim.history = RunHistory.fromSystemProperties();
+        renderer.history = sim.history;
+        sim.events = GameEvents.fromSystemProperties();
+        sim.setLevelPack(LevelPack.fromSystemProperties());
+        simThread = new SimulationThread(sim, new GameControls(metrics));
+        metrics.exportOnExit();
+        timer = new Timer(delay, this);
+        renderer.quality = QualityGovernor.fromSystemProperties(delay * 1_000_000L);
+    }
+    
+    public void start() {
+        simThread.start();
+        timer.start();
+    }
+
+    @Override
+    public void paintComponent(Graphics g) {
+        long start = System.nanoTime();
+        super.paintComponent(g);
+        if (damage == null) {
+            updateView();
+        }
+        renderer.render((Graphics2D) g, view, viewAlpha);
+        if (damage == null) {
+            renderer.framePainted(view, System.nanoTime() - start);
+        }
+    }
+    
+    // Takes the newest simulation state, if any, and how far to interpolate past it
+    private void updateView() {
+        GameSnapshot latest = simThread.latest();
+        if (latest != null) {
+            view.restore(latest);
+            viewTickNanos = latest.tickNanos;
+        }
+        // Interpolate from the previous tick towards the latest one as wall time passes
+        double alpha = Math.min(1, (System.nanoTime() - viewTickNanos) / (GameSimulation.TICK_SECONDS * 1e9));
+        viewAlpha = Math.max(0, alpha);
+    }
+
+    @Override
+    public void actionPerformed(ActionEvent e) {
+        // The timer only drives repaints; the simulation thread keeps its own fixed step
+        if (damage == null) {
+            repaint();
+            return;
+        }
+        
+        // Every region of the frame is painted from the same view and alpha, so they line up
+        long start = System.nanoTime();
+        updateView();
+        damage.clear();
+        int n;
+        if (!renderer.damage(view, viewAlpha, damage) || damage.coverage() > MAX_DIRTY_COVERAGE
+                || (n = damage.rectangles()) > MAX_DIRTY_RECTANGLES) {
+            paintImmediately(0, 0, getWidth(), getHeight());
+        } else {
+            renderer.paintingRegion = true;
+            try {
+                for (int i = 0; i < n; i++) {
+                    paintImmediately(damage.rectangle(i, damageBounds));
+                }
+            } finally {
+                renderer.paintingRegion = false;
+            }
+            metrics.frame(view, System.nanoTime() - start);
+        }
+        renderer.framePainted(view, System.nanoTime() - start);
+    }
+
+    @Override
+    public void keyPressed(KeyEvent e) {
+        simThread.input.offer(e.getKeyCode());
+    }
+
+    @Override
+    public void keyReleased(KeyEvent e) {
+        simThread.input.offer(~e.getKeyCode());
+    }
+
+    @Override
+    public void keyTyped(KeyEvent e) {}
+
+    public static void main(String[] args) {
+        if (args.length > 0 && args[0].equals("--headless")) {
+            long ticks = args.length > 1 ? Long.parseLong(args[1]) : 1_000_000L;
+            int balls = args.length > 2 ? Integer.parseInt(args[2]) : 1;
+            Path record = args.length > 3 ? Paths.get(args[3]) : null;
+            runHeadless(ticks, balls, record);
+            return;
+        }
+        
+        if (args.length > 1 && args[0].equals("--batch")) {
+            int games = Integer.parseInt(args[1]);
+            long maxTicks = args.length > 2 ? Long.parseLong(args[2]) : 500_000L;
+            int level = args.length > 3 ? Integer.parseInt(args[3]) : 1;
+            int threads = args.length > 4 ? Integer.parseInt(args[4]) : Runtime.getRuntime().availableProcessors();
+            BatchRunner runner = new BatchRunner(GameConfig.fromSystemProperties(), maxTicks, level,
+                                                 seed -> new TrackingBot(TrackingBot.DEFAULT_REACTION_TICKS));
+            runner.setLevelPack(LevelPack.fromSystemProperties());
+            long begin = System.nanoTime();
+            BatchResult result = runner.run(games, threads);
+            result.print((System.nanoTime() - begin) / 1e9, threads);
+            return;
+        }
+        
+        if (args.length > 1 && args[0].equals("--env")) {
+            int count = Integer.parseInt(args[1]);
+            long steps = args.length > 2 ? Long.parseLong(args[2]) : 100_000L;
+            int threads = args.length > 3 ? Integer.parseInt(args[3]) : 1;
+            runEnv(count, steps, threads);
+            return;
+        }
+        
+        if (args.length > 0 && args[0].equals("--server")) {
+            int port = args.length > 1 ? Integer.parseInt(args[1]) : VersusServer.DEFAULT_PORT;
+            int threads = args.length > 2 ? Integer.parseInt(args[2]) : 1;
+            runServer(port, threads);
+            return;
+        }
+        
+        if (args.length > 1 && args[0].equals("--versus")) {
+            int rooms = Integer.parseInt(args[1]);
+            long ticks = args.length > 2 ? Long.parseLong(args[2]) : 10_000L;
+            int perRoom = args.length > 3 ? Integer.parseInt(args[3]) : 2;
+            int threads = args.length > 4 ? Integer.parseInt(args[4]) : 1;
+            double loss = args.length > 5 ? Double.parseDouble(args[5]) : 0;
+            runVersus(rooms, ticks, perRoom, threads, loss);
+            return;
+        }
+        
+        if (args.length > 1 && args[0].equals("--join")) {
+            String[] hostPort = args[1].split(":");
+            InetSocketAddress server = new InetSocketAddress(hostPort[0], hostPort.length > 1
+                    ? Integer.parseInt(hostPort[1]) : VersusServer.DEFAULT_PORT);
+            int room = args.length > 2 ? Integer.parseInt(args[2]) : 1;
+            SwingUtilities.invokeLater(() -> {
+                VersusClient client;
+                try {
+                    client = new VersusClient(new ChannelTransport(null), server, room);
+                } catch (IOException e) {
+                    System.err.println("Could not join " + args[1] + ": " + e.getMessage());
+                    System.exit(1);
+                    return;
+                }
+                JFrame frame = new JFrame("Brick Breaker - Versus room " + room);
+                VersusPanel game = new VersusPanel(client);
+                frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+                frame.setResizable(false);
+                frame.add(game);
+                frame.pack();
+                frame.setLocationRelativeTo(null);
+                frame.setVisible(true);
+                game.start();
+            });
+            return;
+        }
+        
+        if (args.length > 0 && (args[0].equals("--history") || args[0].equals("--compact-history"))) {
+            Path path = Paths.get(args.length > 1 ? args[1]
+                                  : System.getProperty("brickbreaker.history", "brickbreaker-runs.bin"));
+            runHistory(path, args.length > 2 ? args[2] : null, args[0].equals("--compact-history"));
+            return;
+        }
+        
+        if (args.length > 1 && args[0].equals("--events")) {
+            // Prints a binary event log as JSON lines
+            try {
+                EventLogSink.read(Paths.get(args[1]), new JsonLinesSink(
+                        new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8))));
+            } catch (IOException e) {
+                System.err.println("Could not read event log: " + e.getMessage());
+                System.exit(1);
+            }
+            return;
+        }
+        
+        if (args.length > 2 && args[0].equals("--pack")) {
+            runPack(Paths.get(args[1]), Arrays.copyOfRange(args, 2, args.length));
+            return;
+        }
+        
+        if (args.length > 1 && args[0].equals("--replay")) {
+            runReplay(Paths.get(args[1]));
+            return;
+        }
+        
+        Path record = args.length > 1 && args[0].equals("--record") ? Paths.get(args[1]) : null;
+        
+        if (args.length > 0 && args[0].equals("--active")) {
+            int fps = args.length > 1 ? Integer.parseInt(args[1]) : ActiveRenderer.DEFAULT_FPS;
+            SwingUtilities.invokeLater(() -> {
+                JFrame frame = new JFrame("Brick Breaker");
+                ActiveRenderer game = new ActiveRenderer(new GameSimulation(), fps);
+                frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+                frame.setResizable(false);
+                frame.add(game);
+                frame.pack();
+                frame.setLocationRelativeTo(null);
+                frame.setVisible(true);
+                game.start();
+            });
+            return;
+        }
+        
+        SwingUtilities.invokeLater(() -> {
+            JFrame frame = new JFrame("Brick Breaker");
+            BrickBreaker game = new BrickBreaker(record);
+            frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+            frame.setResizable(false);
+            frame.add(game);
+            frame.pack();
+            frame.setLocationRelativeTo(null);
+            frame.setVisible(true);
+            game.start();
+        });
+    }
+    
+    // Runs the simulation flat out with a simple paddle-tracking bot, no window needed
+    private static void runHeadless(long ticks, int balls, Path record) {
+        GameSimulation sim = new GameSimulation();
+        sim.serveBalls = balls;
+        if (record != null) {
+            sim.recorder = new ReplayRecorder(record);
+        }
+        sim.events = GameEvents.fromSystemProperties();
+        sim.setLevelPack(LevelPack.fromSystemProperties());
+        sim.start();
+        Controller bot = new TrackingBot(0);
+        long begin = System.nanoTime();
+        for (long t = 0; t < ticks; t++) {
+            if (sim.gameState == GameState.GAME_OVER) {
+                sim.resetGame();
+                sim.start();
+            }
+            sim.tick(bot.input(sim));
+        }
+        double seconds = (System.nanoTime() - begin) / 1e9;
+        if (sim.recorder != null) {
+            sim.recorder.finish(sim);
+        }
+        if (sim.events != null) {
+            sim.events.close();
+        }
+        System.out.printf("%d ticks in %.2fs (%.0f ticks/s), level %d, score %d%n",
+                          ticks, seconds, ticks / seconds, sim.level, sim.score);
+    }
+    
+    // Steps a batch of training environments with random actions and reports throughput
+    private static void runEnv(int count, long steps, int threads) {
+        VectorEnv env = new VectorEnv(count, GameConfig.fromSystemProperties(), 1, 100_000L, threads);
+        float[] obs = new float[count * env.obsSize()];
+        float[] rewards = new float[count];
+        boolean[] dones = new boolean[count];
+        int[] actions = new int[count];
+        GameRandom random = new GameRandom(1);
+        env.reset(1, obs);
+        double totalReward = 0;
+        long episodes = 0;
+        long begin = System.nanoTime();
+        for (long s = 0; s < steps; s++) {
+            for (int e = 0; e < count; e++) {
+                actions[e] = random.nextInt(env.actionCount());
+            }
+            env.step(actions, obs, rewards, dones);
+            for (int e = 0; e < count; e++) {
+                totalReward += rewards[e];
+                if (dones[e]) {
+                    episodes++;
+                }
+            }
+        }
+        double seconds = (System.nanoTime() - begin) / 1e9;
+        env.close();
+        System.out.printf(Locale.ROOT, "%d envs x %d steps in %.2fs (%.0f env steps/s), %d episodes, mean reward/step %.4f%n",
+                          count, steps, seconds, count * steps / seconds, episodes, totalReward / (count * steps));
+    }
+    
+    // Hosts versus rooms on a UDP port until the process is stopped
+    private static void runServer(int port, int threads) {
+        try {
+            VersusServer server = new VersusServer(new ChannelTransport(new InetSocketAddress(port)),
+                                                   GameConfig.fromSystemProperties(), new Random().nextLong(), threads);
+            System.out.println("Versus server listening on UDP port " + port);
+            server.run();
+        } catch (IOException e) {
+            System.err.println("Server failed: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+    
+    // Plays rooms of bots against each other over the in-process loopback and reports what the
+    // server costs per room and what each client receives
+    private static void runVersus(int roomCount, long ticks, int perRoom, int threads, double loss) {
+        try {
+            playVersus(roomCount, ticks, perRoom, threads, loss);
+        } catch (IOException e) {
+            System.err.println("Versus run failed: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+    
+    private static void playVersus(int roomCount, long ticks, int perRoom, int threads, double loss) throws IOException {
+        LoopbackNetwork network = new LoopbackNetwork(loss, 1);
+        LoopbackNetwork.Endpoint host = network.open();
+        VersusServer server = new VersusServer(host, GameConfig.fromSystemProperties(), 1, threads);
+        VersusClient[] clients = new VersusClient[roomCount * perRoom];
+        Controller[] bots = new Controller[clients.length];
+        for (int i = 0; i < clients.length; i++) {
+            clients[i] = new VersusClient(network.open(), host.address, i / perRoom);
+            bots[i] = new TrackingBot(TrackingBot.DEFAULT_REACTION_TICKS);
+        }
+        long serverNanos = 0;
+        long begin = System.nanoTime();
+        for (long t = 0; t < ticks; t++) {
+            for (int i = 0; i < clients.length; i++) {
+                GameSimulation view = clients[i].view;
+                clients[i].update(view.gameState == GameState.GAME_OVER ? GameSimulation.INPUT_ADVANCE : bots[i].input(view));
+            }
+            long start = System.nanoTime();
+            server.tick();
+            serverNanos += System.nanoTime() - start;
+        }
+        double seconds = (System.nanoTime() - begin) / 1e9;
+        long mispredictions = 0;
+        int best = 0;
+        for (VersusClient client : clients) {
+            mispredictions += client.mispredictions;
+            best = Math.max(best, client.view.score);
+        }
+        double bytesPerState = (double) server.bytesSent / Math.max(1, server.statesSent);
+        System.out.printf(Locale.ROOT, "%d rooms x %d players, %d ticks in %.2fs, %.0f%% loss%n",
+                          roomCount, perRoom, ticks, seconds, loss * 100);
+        System.out.printf(Locale.ROOT, "server       %.2f us per room tick (%d threads)%n",
+                          serverNanos / 1e3 / ticks / Math.max(1, server.roomCount()), threads);
+        System.out.printf(Locale.ROOT, "downstream   %.1f bytes per state, %.2f KB/s per client, %.2f%% full grids%n",
+                          bytesPerState, bytesPerState / GameSimulation.TICK_SECONDS / 1024,
+                          100.0 * server.fullStates / Math.max(1, server.statesSent));
+        System.out.printf(Locale.ROOT, "prediction   %d paddle corrections, best score %d%n", mispredictions, best);
+    }
+    
+    // Re-simulates a recorded game and checks it ends exactly where the recording did
+    private static void runReplay(Path path) {
+        Replay replay;
+        try {
+            replay = Replay.load(path);
+        } catch (IOException e) {
+            System.err.println("Could not read replay: " + e.getMessage());
+            System.exit(1);
+            return;
+        }
+        long begin = System.nanoTime();
+        GameSimulation sim = replay.run(LevelPack.fromSystemProperties());
+        double seconds = (System.nanoTime() - begin) / 1e9;
+        boolean matches = replay.matches(sim);
+        System.out.printf("%d ticks in %.2fs (%.0f ticks/s), level %d, score %d, lives %d: %s%n",
+                          replay.ticks, seconds, replay.ticks / seconds, sim.level, sim.score, sim.lives,
+                          matches ? "matches recording" : "DIVERGED from recording");
+        if (!matches) {
+            System.exit(1);
+        }
+    }
+    
+    // Prints the leaderboard of a run history, optionally one player's best, or compacts it
+    private static void runHistory(Path path, String player, boolean compact) {
+        long begin = System.nanoTime();
+        RunHistory history;
+        try {
+            history = RunHistory.open(path, player == null ? "player" : player);
+        } catch (IOException e) {
+            System.err.println("Could not open run history: " + e.getMessage());
+            System.exit(1);
+            return;
+        }
+        System.out.printf(Locale.ROOT, "%,d runs, opened in %.1f ms%s%n", history.size(),
+                          (System.nanoTime() - begin) / 1e6,
+                          history.discardedBytes > 0 ? ", " + history.discardedBytes + " torn bytes cleared" : "");
+        try {
+            if (compact) {
+                begin = System.nanoTime();
+                int dropped = history.compact(RunHistory.KEEP_PER_PLAYER, RunHistory.KEEP_RECENT);
+                System.out.printf(Locale.ROOT, "compacted in %.1f ms: %,d runs dropped, %,d kept%n",
+                                  (System.nanoTime() - begin) / 1e6, dropped, history.size());
+            }
+            RunRecord[] top = player == null ? history.top(10) : history.topFor(player, 10);
+            for (int i = 0; i < top.length; i++) {
+                RunRecord run = top[i];
+                System.out.printf(Locale.ROOT, "%2d. %-15s %8d  level %-3d lives %-2d %6.1fs%s  %tF %<tR%n",
+                                  i + 1, run.player, run.score, run.level, run.lives,
+                                  run.ticks * GameSimulation.TICK_SECONDS, run.endless ? " endless" : "", run.endedAt);
+            }
+            history.close();
+        } catch (IOException e) {
+            System.err.println("Could not update run history: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+    
+    // Builds a level pack from text layouts, or from generated levels when given a count, then
+    // reopens it and reads every level back
+    private static void runPack(Path path, String[] sources) {
+        LevelPackWriter writer = new LevelPackWriter();
+        try {
+            if (sources[0].matches("\\d+")) {
+                int count = Integer.parseInt(sources[0]);
+                LevelGenerator generator = new LevelGenerator(0x5EEDL);
+                for (int lvl = 1; lvl <= count; lvl++) {
+                    int rows = sources.length > 1 ? Integer.parseInt(sources[1])
+                                                  : Math.min(3 + lvl, GameSimulation.MAX_ROWS);
+                    int cols = sources.length > 2 ? Integer.parseInt(sources[2])
+                                                  : Math.min(7 + (lvl - 1) / 2, GameSimulation.MAX_COLS);
+                    byte[] cells = new byte[rows * cols];
+                    for (int i = 0; i < rows; i++) {
+                        generator.fillRow(lvl, i, cols, cells, i * cols);
+                    }
+                    writer.add(LevelData.fitted(rows, cols, cells));
+                }
+            } else {
+                for (String source : sources) {
+                    try {
+                        writer.add(LevelData.parse(Files.readAllLines(Paths.get(source), StandardCharsets.UTF_8)));
+                    } catch (IOException e) {
+                        throw new IOException(source + ": " + e.getMessage(), e);
+                    }
+                }
+            }
+            writer.finish(path);
+            long begin = System.nanoTime();
+            LevelPack pack = new LevelPack(path, LevelPack.DEFAULT_CACHE_BYTES);
+            double openMillis = (System.nanoTime() - begin) / 1e6;
+            begin = System.nanoTime();
+            long cells = 0;
+            for (int lvl = 1; lvl <= pack.size(); lvl++) {
+                cells += pack.level(lvl).cells.length;
+            }
+            System.out.printf(Locale.ROOT, "%,d levels, %,d bytes, opened in %.2f ms, %,d cells decoded in %.1f ms%n",
+                              pack.size(), Files.size(path), openMillis, cells, (System.nanoTime() - begin) / 1e6);
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Could not build level pack: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,489 @@
+package BrickBreakerGame;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+
+// Brick Generator Class
+// Bricks are one byte per cell plus a long occupancy bitmask per row, so queries and drawing
+// jump straight to occupied cells and skip empty rows entirely. A cell packs its colour index
+// (bits 0-2, 0 = empty), remaining hits minus one (bits 3-4) and its type (bits 5-6).
+// In endless mode the rows form a ring: the grid scrolls down and the bottom row is recycled
+// as a freshly generated top row, so memory stays fixed however long the game runs.
+public class BrickGenerator {
+    // Top-left corner of the brick grid on the field
+    static final int OFFSET_X = 80;
+    static final int OFFSET_Y = 50;
+    
+    // Cell encoding
+    static final int TYPE_NORMAL = 0;
+    static final int TYPE_STEEL = 1;     // indestructible
+    static final int TYPE_EXPLOSIVE = 2; // takes its neighbours with it
+    static final int HIT_STEP = 1 << 3;
+    
+    // Cached rendering of the whole brick layer
+    private static final int LAYER_MARGIN = 2;
+    private static final Color HIGHLIGHT = new Color(255, 255, 255, 80);
+    private static final Color STEEL = new Color(99, 110, 114);
+    private static final Color FUSE = new Color(44, 62, 80);
+    private static final BasicStroke BORDER = new BasicStroke(2);
+    
+    private final int rows;
+    private final int cols;
+    private final int words; // mask words per row
+    private byte[] cells;
+    private long[] rowMasks;
+    private int top = 0;      // ring slot of the first visible row
+    private int remaining;    // breakable bricks still standing
+    private double originY = OFFSET_Y;
+    private long rowsGenerated = 0;
+    public int brickWidth;
+    public int brickHeight;
+    private Color[] colors;
+    private BufferedImage layer;
+    private int[] dirtyCells = new int[16];
+    private int dirtyCount = 0;
+    private boolean shared = false; // cells and masks are also held by a snapshot; copy before writing
+    private int damagedOriginY;     // where addDamage last saw the grid
+
+    public BrickGenerator(int row, int col, Color[] colors) {
+        this(row, col, Math.max(1, 540 / col), Math.max(1, 150 / row), colors);
+        for (int i = 0; i < row; i++) {
+            Arrays.fill(cells, i * col, (i + 1) * col, (byte) ((i % colors.length) + 1));
+        }
+        rowMasks = masksOf(cells, row, col);
+        remaining = row * col;
+    }
+    
+    // An empty grid with explicit brick size
+    public BrickGenerator(int row, int col, int brickWidth, int brickHeight, Color[] colors) {
+        this.colors = colors;
+        rows = row;
+        cols = col;
+        words = (col + 63) >>> 6;
+        cells = new byte[row * col];
+        rowMasks = new long[row * words];
+        this.brickWidth = brickWidth;
+        this.brickHeight = brickHeight;
+    }
+    
+    static int brick(int color, int hits, int type) {
+        return color | (hits - 1) << 3 | type << 5;
+    }
+    
+    static int colorOf(int value) {
+        return value & 7;
+    }
+    
+    static int hitsOf(int value) {
+        return (value >> 3 & 3) + 1;
+    }
+    
+    static int typeOf(int value) {
+        return value >> 5 & 3;
+    }
+    
+    static boolean isBreakable(int value) {
+        return value != 0 && typeOf(value) != TYPE_STEEL;
+    }
+    
+    // Occupancy bits for a cell array, words-per-row longs per row
+    static long[] masksOf(byte[] cells, int rows, int cols) {
+        int words = (cols + 63) >>> 6;
+        long[] masks = new long[rows * words];
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < cols; j++) {
+                if (cells[i * cols + j] != 0) {
+                    masks[i * words + (j >>> 6)] |= 1L << j;
+                }
+            }
+        }
+        return masks;
+    }
+    
+    // Fills every row from a level generator, top row first
+    public void generate(LevelGenerator generator, int level) {
+        ensureOwned();
+        top = 0;
+        for (int i = 0; i < rows; i++) {
+            generator.fillRow(level, i, cols, cells, i * cols);
+        }
+        rowsGenerated = rows;
+        rowMasks = masksOf(cells, rows, cols);
+        countRemaining();
+        if (remaining == 0) {
+            // Never hand out a level that cannot be completed
+            setBrickValue(brick(1, 1, TYPE_NORMAL), rows / 2, cols / 2);
+        }
+        layer = null;
+    }
+    
+    // Copies a designed level's cells (rows x cols, top row first)
+    public void load(byte[] level) {
+        ensureOwned();
+        System.arraycopy(level, 0, cells, 0, cells.length);
+        top = 0;
+        rowsGenerated = rows;
+        rowMasks = masksOf(cells, rows, cols);
+        countRemaining();
+        if (remaining == 0) {
+            setBrickValue(brick(1, 1, TYPE_NORMAL), rows / 2, cols / 2);
+        }
+        layer = null;
+    }
+    
+    // Endless mode: the grid starts one row above its usual place, with the first rows filled
+    public void startScrolling(LevelGenerator generator, int level, int filledRows) {
+        ensureOwned();
+        Arrays.fill(cells, (byte) 0);
+        Arrays.fill(rowMasks, 0);
+        top = 0;
+        rowsGenerated = 0;
+        for (int i = filledRows - 1; i >= 0; i--) {
+            generator.fillRow(level, rowsGenerated++, cols, cells, i * cols);
+        }
+        rowMasks = masksOf(cells, rows, cols);
+        countRemaining();
+        originY = OFFSET_Y - brickHeight;
+        layer = null;
+    }
+    
+    // Moves the grid down; every whole row scrolled recycles the bottom row as a new top row.
+    // Returns the breakable bricks that fell off the bottom.
+    public int scroll(double dy, LevelGenerator generator, int level) {
+        originY += dy;
+        int lost = 0;
+        while (originY >= OFFSET_Y) {
+            originY -= brickHeight;
+            ensureOwned();
+            int slot = slot(rows - 1);
+            int start = slot * cols;
+            for (int j = 0; j < cols; j++) {
+                if (isBreakable(cells[start + j])) {
+                    lost++;
+                }
+            }
+            generator.fillRow(level, rowsGenerated++, cols, cells, start);
+            Arrays.fill(rowMasks, slot * words, (slot + 1) * words, 0);
+            for (int j = 0; j < cols; j++) {
+                if (cells[start + j] != 0) {
+                    rowMasks[slot * words + (j >>> 6)] |= 1L << j;
+                    if (isBreakable(cells[start + j])) {
+                        remaining++;
+                    }
+                }
+            }
+            top = slot;
+            // Every cell moved, so the cached layer is rebuilt
+            layer = null;
+            dirtyCount = 0;
+        }
+        remaining -= lost;
+        return lost;
+    }
+    
+    public long rowsGenerated() {
+        return rowsGenerated;
+    }
+    
+    private void countRemaining() {
+        remaining = 0;
+        for (byte value : cells) {
+            if (isBreakable(value)) {
+                remaining++;
+            }
+        }
+    }
+    
+    // Ring slot of a visible row
+    private int slot(int row) {
+        int s = top + row;
+        return s >= rows ? s - rows : s;
+    }
+    
+    public int rows() {
+        return rows;
+    }
+    
+    public int cols() {
+        return cols;
+    }
+    
+    // Breakable bricks still standing
+    public int remaining() {
+        return remaining;
+    }
+    
+    // Packed cell value, 0 when empty
+    public int get(int row, int col) {
+        return cells[slot(row) * cols + col];
+    }
+    
+    public boolean isRowEmpty(int row) {
+        for (int w = slot(row) * words, end = w + words; w < end; w++) {
+            if (rowMasks[w] != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    // First occupied column in [from, to] of a row, or -1
+    public int nextBrick(int row, int from, int to) {
+        if (from > to) {
+            return -1;
+        }
+        int base = slot(row) * words;
+        int w = from >>> 6;
+        int lastWord = to >>> 6;
+        long bits = rowMasks[base + w] & (-1L << from);
+        while (bits == 0) {
+            if (++w > lastWord) {
+                return -1;
+            }
+            bits = rowMasks[base + w];
+        }
+        int col = (w << 6) + Long.numberOfTrailingZeros(bits);
+        return col <= to ? col : -1;
+    }
+    
+    // Grid row/column containing a field coordinate; may fall outside the grid
+    public int rowAt(double y) {
+        return (int)Math.floor((y - originY()) / brickHeight);
+    }
+    
+    public int colAt(double x) {
+        return (int)Math.floor((x - OFFSET_X) / brickWidth);
+    }
+    
+    public int brickX(int col) {
+        return col * brickWidth + OFFSET_X;
+    }
+    
+    public int brickY(int row) {
+        return row * brickHeight + originY();
+    }
+    
+    // Top of the first row; bricks move in whole pixels as the grid scrolls
+    private int originY() {
+        return (int) Math.floor(originY);
+    }
+
+    // Adds what the next draw will change on screen: the grid's old and new area after a rebuild
+    // or a scroll, otherwise the cells changed since the last draw. A null region only records
+    // where the grid is now, for a frame that is repainted whole.
+    public void addDamage(DirtyRegion region) {
+        int y = originY();
+        if (region != null) {
+            int height = rows * brickHeight + 2 * LAYER_MARGIN;
+            if (layer == null || y != damagedOriginY) {
+                int top = Math.max(OFFSET_Y, Math.min(y, damagedOriginY)) - LAYER_MARGIN;
+                region.add(OFFSET_X - LAYER_MARGIN, top, cols * brickWidth + 2 * LAYER_MARGIN,
+                           Math.max(y, damagedOriginY) + height - top);
+            } else {
+                for (int k = 0; k < dirtyCount; k++) {
+                    int row = dirtyCells[k] / cols;
+                    int col = dirtyCells[k] % cols;
+                    region.add(brickX(col) - LAYER_MARGIN, brickY(row) - LAYER_MARGIN,
+                               brickWidth + 2 * LAYER_MARGIN, brickHeight + 2 * LAYER_MARGIN);
+                }
+            }
+        }
+        damagedOriginY = y;
+    }
+    
+    // Draws the brick layer from its cached image, repainting only cells changed since last time
+    public void draw(Graphics2D g) {
+        if (layer == null) {
+            layer = new BufferedImage(cols * brickWidth + 2 * LAYER_MARGIN,
+                                      rows * brickHeight + 2 * LAYER_MARGIN,
+                                      BufferedImage.TYPE_INT_ARGB);
+            Graphics2D lg = createLayerGraphics();
+            for (int i = 0; i < rows; i++) {
+                if (isRowEmpty(i)) {
+                    continue;
+                }
+                for (int j = nextBrick(i, 0, cols - 1); j >= 0; j = nextBrick(i, j + 1, cols - 1)) {
+                    drawBrick(lg, i, j);
+                }
+            }
+            lg.dispose();
+            dirtyCount = 0;
+        } else if (dirtyCount > 0) {
+            Graphics2D lg = createLayerGraphics();
+            for (int k = 0; k < dirtyCount; k++) {
+                redrawCell(lg, dirtyCells[k] / cols, dirtyCells[k] % cols);
+            }
+            lg.dispose();
+            dirtyCount = 0;
+        }
+        if (originY() < OFFSET_Y) {
+            // Scrolling: the incoming row emerges from the top edge of the field, not over the HUD
+            Shape clip = g.getClip();
+            g.clipRect(0, OFFSET_Y - LAYER_MARGIN, OFFSET_X + layer.getWidth(), layer.getHeight());
+            g.drawImage(layer, OFFSET_X - LAYER_MARGIN, originY() - LAYER_MARGIN, null);
+            g.setClip(clip);
+        } else {
+            g.drawImage(layer, OFFSET_X - LAYER_MARGIN, originY() - LAYER_MARGIN, null);
+        }
+    }
+    
+    // Layer graphics use grid coordinates (row 0 at y = 0), with the same quality hints as the panel
+    private Graphics2D createLayerGraphics() {
+        Graphics2D lg = layer.createGraphics();
+        lg.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        lg.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        lg.translate(LAYER_MARGIN, LAYER_MARGIN);
+        return lg;
+    }
+    
+    // Clears one cell (its border spills a pixel each way) and repaints whatever overlaps it
+    private void redrawCell(Graphics2D lg, int row, int col) {
+        int x = col * brickWidth - LAYER_MARGIN;
+        int y = row * brickHeight - LAYER_MARGIN;
+        int w = brickWidth + 2 * LAYER_MARGIN;
+        int h = brickHeight + 2 * LAYER_MARGIN;
+        lg.setClip(x, y, w, h);
+        lg.setComposite(AlphaComposite.Clear);
+        lg.fillRect(x, y, w, h);
+        lg.setComposite(AlphaComposite.SrcOver);
+        int lastCol = Math.min(cols - 1, col + 1);
+        for (int i = Math.max(0, row - 1); i <= Math.min(rows - 1, row + 1); i++) {
+            for (int j = nextBrick(i, Math.max(0, col - 1), lastCol); j >= 0; j = nextBrick(i, j + 1, lastCol)) {
+                drawBrick(lg, i, j);
+            }
+        }
+        lg.setClip(null);
+    }
+    
+    private void drawBrick(Graphics2D g, int i, int j) {
+        int value = get(i, j);
+        if (value > 0) {
+            int x = j * brickWidth;
+            int y = i * brickHeight;
+            int type = typeOf(value);
+            
+            Color brickColor = type == TYPE_STEEL ? STEEL : colors[colorOf(value) - 1];
+            
+            // Gradient fill
+            GradientPaint gradient = new GradientPaint(
+                x, y, brickColor.brighter(),
+                x, y + brickHeight, brickColor.darker()
+            );
+            g.setPaint(gradient);
+            g.fillRoundRect(x, y, brickWidth - 2, brickHeight - 2, 8, 8);
+            
+            // Highlight
+            g.setColor(HIGHLIGHT);
+            g.fillRoundRect(x, y, brickWidth - 2, brickHeight/3, 8, 8);
+            
+            // Markings: a fuse for explosive bricks, one pip per extra hit for tough ones
+            int cx = x + (brickWidth - 2) / 2;
+            int cy = y + (brickHeight - 2) / 2;
+            if (type == TYPE_STEEL) {
+                g.setColor(HIGHLIGHT);
+                g.fillOval(x + 3, cy - 2, 4, 4);
+                g.fillOval(x + brickWidth - 9, cy - 2, 4, 4);
+            } else if (type == TYPE_EXPLOSIVE) {
+                int d = Math.max(2, Math.min(brickWidth, brickHeight) / 2);
+                g.setColor(FUSE);
+                g.fillOval(cx - d / 2, cy - d / 2, d, d);
+            } else if (hitsOf(value) > 1) {
+                g.setColor(Color.WHITE);
+                int pips = hitsOf(value) - 1;
+                for (int k = 0; k < pips; k++) {
+                    g.fillOval(cx - pips * 3 + k * 6 + 1, cy - 2, 4, 4);
+                }
+            }
+            
+            // Border
+            g.setColor(brickColor.darker().darker());
+            g.setStroke(BORDER);
+            g.drawRoundRect(x, y, brickWidth - 2, brickHeight - 2, 8, 8);
+        }
+    }
+
+    // Forces the next draw to re-render the whole layer
+    public void invalidate() {
+        layer = null;
+    }
+    
+    // Hands the grid to a snapshot without copying; the next write copies it instead
+    public void saveTo(GameSnapshot s) {
+        shared = true;
+        s.brickRows = rows;
+        s.brickCols = cols;
+        s.brickWidth = brickWidth;
+        s.brickHeight = brickHeight;
+        s.brickCells = cells;
+        s.brickMasks = rowMasks;
+        s.brickTop = top;
+        s.brickOriginY = originY;
+        s.brickRowsGenerated = rowsGenerated;
+    }
+    
+    // Takes over a snapshot's grid (shared, so still copy-on-write) and repaints everything
+    // When only a few cells differ from what is drawn (a render-side mirror following the
+    // simulation), just those cells are repainted
+    public void restoreFrom(GameSnapshot s) {
+        byte[] previous = cells;
+        boolean sameRows = top == s.brickTop;
+        cells = s.brickCells;
+        rowMasks = s.brickMasks;
+        shared = true;
+        top = s.brickTop;
+        originY = s.brickOriginY;
+        rowsGenerated = s.brickRowsGenerated;
+        if (previous == cells && sameRows) {
+            return; // shared copy-on-write arrays are never written, so nothing changed
+        }
+        countRemaining();
+        if (layer == null || !sameRows) {
+            dirtyCount = 0;
+            layer = null;
+            return;
+        }
+        for (int i = 0; i < cells.length; i++) {
+            if (previous[i] != cells[i]) {
+                int row = i / cols - top;
+                markDirty((row < 0 ? row + rows : row) * cols + i % cols);
+            }
+        }
+    }
+    
+    private void ensureOwned() {
+        if (shared) {
+            cells = cells.clone();
+            rowMasks = rowMasks.clone();
+            shared = false;
+        }
+    }
+    
+    public void setBrickValue(int value, int row, int col) {
+        ensureOwned();
+        int cell = slot(row) * cols + col;
+        int w = slot(row) * words + (col >>> 6);
+        if (isBreakable(cells[cell])) {
+            remaining--;
+        }
+        if (isBreakable(value)) {
+            remaining++;
+        }
+        if (value != 0) {
+            rowMasks[w] |= 1L << col;
+        } else {
+            rowMasks[w] &= ~(1L << col);
+        }
+        cells[cell] = (byte) value;
+        markDirty(row * cols + col);
+    }
+    
+    private void markDirty(int cell) {
+        if (layer != null) {
+            if (dirtyCount == dirtyCells.length) {
+                dirtyCells = Arrays.copyOf(dirtyCells, dirtyCount * 2);
+            }
+            dirtyCells[dirtyCount++] = cell;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package BrickBreakerGame;
+
+import java.io.IOException;
+import java.net.SocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+
+// Channel Transport Class
+// DatagramTransport over a non-blocking DatagramChannel
+class ChannelTransport implements DatagramTransport {
+    // A server drains its socket once per tick, so the buffer holds a tick of input from every client
+    private static final int SOCKET_BUFFER = 1 << 20;
+
+    private final DatagramChannel channel;
+
+    // Binds to the given address, or to any free port when it is null
+    public ChannelTransport(SocketAddress bind) throws IOException {
+        channel = DatagramChannel.open();
+        channel.setOption(StandardSocketOptions.SO_RCVBUF, SOCKET_BUFFER);
+        channel.setOption(StandardSocketOptions.SO_SNDBUF, SOCKET_BUFFER);
+        channel.configureBlocking(false);
+        channel.bind(bind);
+    }
+
+    public SocketAddress localAddress() throws IOException {
+        return channel.getLocalAddress();
+    }
+
+    @Override
+    public boolean send(ByteBuffer packet, SocketAddress to) throws IOException {
+        return channel.send(packet, to) > 0;
+    }
+
+    @Override
+    public SocketAddress receive(ByteBuffer packet) throws IOException {
+        return channel.receive(packet);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,7 @@
+package BrickBreakerGame;
+
+// Controller Interface
+// Produces the input bits for the next tick; one instance per game, so it may keep state
+interface Controller {
+    int input(GameSimulation sim);
+}
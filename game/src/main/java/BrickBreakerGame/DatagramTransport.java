@@ -0,0 +1,18 @@
+package BrickBreakerGame;
+
+import java.io.IOException;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+
+// Datagram Transport Interface
+// Non-blocking datagram I/O for versus servers and clients: an NIO channel on a real socket, or an
+// in-process loopback for tests and benchmarks
+interface DatagramTransport {
+    // Sends the buffer's remaining bytes as one datagram; false if it could not be queued
+    boolean send(ByteBuffer packet, SocketAddress to) throws IOException;
+
+    // Reads one waiting datagram into the buffer and returns its sender, or null if none is waiting
+    SocketAddress receive(ByteBuffer packet) throws IOException;
+
+    void close() throws IOException;
+}
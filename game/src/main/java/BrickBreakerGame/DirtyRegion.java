@@ -0,0 +1,121 @@
+package BrickBreakerGame;
+
+import java.awt.*;
+import java.util.Arrays;
+
+// Dirty Region Class
+// Damaged screen area as a bitmap of 32 px tiles. Marking costs only the tiles a box covers, so
+// thousands of particles are cheap to add, and the union comes back as a few rectangles: runs of
+// tiles along each tile row, extended downwards while the rows below repeat the same run.
+class DirtyRegion {
+    static final int TILE = 32;
+    
+    private final int width;
+    private final int height;
+    private final int columns;
+    private final int rows;
+    private final boolean[] tiles;
+    private int marked = 0;
+    private int[] rectangles = new int[64]; // x, y, width, height per rectangle, in tiles
+    
+    public DirtyRegion(int width, int height) {
+        this.width = width;
+        this.height = height;
+        columns = (width + TILE - 1) / TILE;
+        rows = (height + TILE - 1) / TILE;
+        tiles = new boolean[columns * rows];
+    }
+    
+    public void clear() {
+        Arrays.fill(tiles, false);
+        marked = 0;
+    }
+    
+    public boolean isEmpty() {
+        return marked == 0;
+    }
+    
+    // Share of the area that is damaged, 0 to 1
+    public double coverage() {
+        return (double) marked / tiles.length;
+    }
+    
+    public void add(double x, double y, double w, double h) {
+        if (x + w < 0 || y + h < 0 || x >= width || y >= height) {
+            return;
+        }
+        int c0 = Math.max(0, (int) Math.floor(x) / TILE);
+        int r0 = Math.max(0, (int) Math.floor(y) / TILE);
+        int c1 = Math.min(columns - 1, (int) Math.ceil(x + w) / TILE);
+        int r1 = Math.min(rows - 1, (int) Math.ceil(y + h) / TILE);
+        for (int r = r0; r <= r1; r++) {
+            for (int c = c0, t = r * columns + c0; c <= c1; c++, t++) {
+                if (!tiles[t]) {
+                    tiles[t] = true;
+                    marked++;
+                }
+            }
+        }
+    }
+    
+    public void addAll() {
+        Arrays.fill(tiles, true);
+        marked = tiles.length;
+    }
+    
+    public void addAll(DirtyRegion other) {
+        for (int t = 0; t < tiles.length; t++) {
+            if (other.tiles[t] && !tiles[t]) {
+                tiles[t] = true;
+                marked++;
+            }
+        }
+    }
+    
+    // Splits the region into rectangles; returns how many, read back with rectangle
+    public int rectangles() {
+        int count = 0;
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < columns; ) {
+                if (!tiles[r * columns + c]) {
+                    c++;
+                    continue;
+                }
+                int run = c;
+                while (c < columns && tiles[r * columns + c]) {
+                    c++;
+                }
+                // Same run as a rectangle reaching the row above: grow that one down instead
+                boolean extended = false;
+                for (int k = 0; k < count; k++) {
+                    int[] q = rectangles;
+                    if (q[k * 4] == run && q[k * 4 + 2] == c - run && q[k * 4 + 1] + q[k * 4 + 3] == r) {
+                        q[k * 4 + 3]++;
+                        extended = true;
+                        break;
+                    }
+                }
+                if (!extended) {
+                    if (count * 4 == rectangles.length) {
+                        rectangles = Arrays.copyOf(rectangles, rectangles.length * 2);
+                    }
+                    rectangles[count * 4] = run;
+                    rectangles[count * 4 + 1] = r;
+                    rectangles[count * 4 + 2] = c - run;
+                    rectangles[count * 4 + 3] = 1;
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+    
+    // Pixel bounds of the i-th rectangle from the last call to rectangles()
+    public Rectangle rectangle(int i, Rectangle out) {
+        int x = rectangles[i * 4] * TILE;
+        int y = rectangles[i * 4 + 1] * TILE;
+        out.setBounds(x, y, Math.min(width, x + rectangles[i * 4 + 2] * TILE) - x,
+                      Math.min(height, y + rectangles[i * 4 + 3] * TILE) - y);
+        return out;
+    }
+}
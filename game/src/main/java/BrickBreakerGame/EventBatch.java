@@ -0,0 +1,31 @@
+package BrickBreakerGame;
+
+// Event Batch Class
+// A run of consecutive events handed to the sinks; valid only during the call it is passed to
+class EventBatch {
+    int size;
+    long firstSequence; // sequence number of the first event; numbers count published events
+    long dropped;       // events dropped so far because the ring was full
+    final long[] ticks;
+    final int[] types;
+    final int[] levels;
+    final int[] a, b, c;
+    
+    EventBatch(int capacity) {
+        ticks = new long[capacity];
+        types = new int[capacity];
+        levels = new int[capacity];
+        a = new int[capacity];
+        b = new int[capacity];
+        c = new int[capacity];
+    }
+    
+    GameEvent type(int i) {
+        return GameEvent.TYPES[types[i]];
+    }
+    
+    // The i-th int field of an event
+    int field(int i, int f) {
+        return f == 0 ? a[i] : f == 1 ? b[i] : c[i];
+    }
+}
@@ -0,0 +1,149 @@
+package BrickBreakerGame;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+// Event Log Sink Class
+// Appends events to a binary log with fixed-size records, rolling it over to path.1, path.2, ...
+// when it reaches its size limit and deleting the oldest. File layout:
+//   magic, version, then per event: sequence, tick, type, level, three fields
+class EventLogSink implements EventSink {
+    static final int MAGIC = 0x42424556; // "BBEV"
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 8;
+    static final int RECORD_SIZE = 32;
+    static final long DEFAULT_MAX_BYTES = 16L << 20;
+    static final int DEFAULT_KEEP_FILES = 4;
+    
+    private final Path path;
+    private final long maxBytes;
+    private final int keepFiles;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(64 * 1024);
+    private FileChannel channel;
+    private long written;
+    
+    public EventLogSink(Path path, long maxBytes, int keepFiles) throws IOException {
+        this.path = path;
+        this.maxBytes = Math.max(maxBytes, HEADER_SIZE + RECORD_SIZE);
+        this.keepFiles = keepFiles;
+        open();
+    }
+    
+    private void open() throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                                   StandardOpenOption.APPEND);
+        written = channel.size();
+        if (written == 0) {
+            buffer.putInt(MAGIC).putInt(VERSION);
+            written = HEADER_SIZE;
+        }
+    }
+    
+    @Override
+    public void write(EventBatch batch) throws IOException {
+        for (int i = 0; i < batch.size; i++) {
+            if (written + RECORD_SIZE > maxBytes) {
+                roll();
+            }
+            if (buffer.remaining() < RECORD_SIZE) {
+                drainBuffer();
+            }
+            buffer.putLong(batch.firstSequence + i)
+                  .putLong(batch.ticks[i])
+                  .putShort((short) batch.types[i])
+                  .putShort((short) Math.min(batch.levels[i], Short.MAX_VALUE))
+                  .putInt(batch.a[i])
+                  .putInt(batch.b[i])
+                  .putInt(batch.c[i]);
+            written += RECORD_SIZE;
+        }
+        drainBuffer();
+    }
+    
+    private void drainBuffer() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+    
+    // Closes the full file and shifts the older ones up a number
+    private void roll() throws IOException {
+        drainBuffer();
+        channel.close();
+        Path base = path.toAbsolutePath();
+        Files.deleteIfExists(base.resolveSibling(base.getFileName() + "." + keepFiles));
+        for (int k = keepFiles - 1; k >= 1; k--) {
+            Path older = base.resolveSibling(base.getFileName() + "." + k);
+            if (Files.exists(older)) {
+                Files.move(older, base.resolveSibling(base.getFileName() + "." + (k + 1)),
+                           StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        Files.move(base, base.resolveSibling(base.getFileName() + ".1"), StandardCopyOption.REPLACE_EXISTING);
+        open();
+    }
+    
+    @Override
+    public void flush() throws IOException {
+        drainBuffer();
+    }
+    
+    @Override
+    public void close() throws IOException {
+        drainBuffer();
+        channel.close();
+    }
+    
+    // Replays a log file into another sink, a batch at a time
+    public static void read(Path path, EventSink sink) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not an event log: " + path);
+            }
+            int version = in.readInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported event log version " + version);
+            }
+            EventBatch batch = new EventBatch(GameEvents.BATCH_SIZE);
+            long expected = -1;
+            while (true) {
+                long sequence;
+                try {
+                    sequence = in.readLong();
+                } catch (EOFException e) {
+                    break;
+                }
+                // A batch is a run of consecutive sequence numbers
+                if (batch.size == batch.ticks.length || (batch.size > 0 && sequence != expected)) {
+                    sink.write(batch);
+                    batch.size = 0;
+                }
+                if (batch.size == 0) {
+                    batch.firstSequence = sequence;
+                }
+                int i = batch.size++;
+                batch.ticks[i] = in.readLong();
+                batch.types[i] = in.readShort();
+                batch.levels[i] = in.readShort();
+                batch.a[i] = in.readInt();
+                batch.b[i] = in.readInt();
+                batch.c[i] = in.readInt();
+                expected = sequence + 1;
+            }
+            if (batch.size > 0) {
+                sink.write(batch);
+            }
+            sink.flush();
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package BrickBreakerGame;
+
+import java.io.IOException;
+
+// Event Sink Interface
+// Receives batches of events on the consumer thread
+interface EventSink {
+    void write(EventBatch batch) throws IOException;
+
+    // Called about once a second and before close
+    void flush() throws IOException;
+
+    void close() throws IOException;
+}
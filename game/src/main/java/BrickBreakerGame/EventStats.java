@@ -0,0 +1,65 @@
+package BrickBreakerGame;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Event Stats Class
+// In-memory aggregate of the stream: events by type, and by type and first field (which power-up,
+// which row). Readable from any thread while the stream runs.
+class EventStats implements EventSink {
+    static final int FIRST_FIELD_BUCKETS = 16;
+    
+    private final AtomicLongArray counts = new AtomicLongArray(GameEvent.TYPES.length);
+    private final AtomicLongArray byFirstField = new AtomicLongArray(GameEvent.TYPES.length * FIRST_FIELD_BUCKETS);
+    private final boolean printOnClose;
+    private volatile long dropped;
+    
+    public EventStats(boolean printOnClose) {
+        this.printOnClose = printOnClose;
+    }
+    
+    @Override
+    public void write(EventBatch batch) {
+        // Single writer, so plain read-then-write updates are enough
+        for (int i = 0; i < batch.size; i++) {
+            int type = batch.types[i];
+            counts.lazySet(type, counts.get(type) + 1);
+            int bucket = type * FIRST_FIELD_BUCKETS + Math.max(0, Math.min(batch.a[i], FIRST_FIELD_BUCKETS - 1));
+            byFirstField.lazySet(bucket, byFirstField.get(bucket) + 1);
+        }
+        dropped = batch.dropped;
+    }
+    
+    public long count(GameEvent type) {
+        return counts.get(type.ordinal());
+    }
+    
+    // Events of a type whose first field had this value (values past the last bucket share it)
+    public long count(GameEvent type, int firstField) {
+        return byFirstField.get(type.ordinal() * FIRST_FIELD_BUCKETS
+                                + Math.max(0, Math.min(firstField, FIRST_FIELD_BUCKETS - 1)));
+    }
+    
+    public String summary() {
+        StringBuilder out = new StringBuilder("game events:");
+        for (GameEvent type : GameEvent.TYPES) {
+            out.append(' ').append(type.key).append(' ').append(count(type));
+        }
+        out.append("\npower-ups collected:");
+        for (PowerUp.PowerUpType type : PowerUp.TYPES) {
+            out.append(' ').append(type.name().toLowerCase(Locale.ROOT)).append(' ')
+               .append(count(GameEvent.POWER_UP_COLLECTED, type.ordinal()));
+        }
+        return out.append("\ndropped ").append(dropped).toString();
+    }
+    
+    @Override
+    public void flush() {}
+    
+    @Override
+    public void close() {
+        if (printOnClose) {
+            System.out.println(summary());
+        }
+    }
+}
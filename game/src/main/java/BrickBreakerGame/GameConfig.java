@@ -0,0 +1,88 @@
+package BrickBreakerGame;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Locale;
+
+// Game Config Class
+// Balancing knobs shared by every game a simulation plays; tuned through batch runs
+public class GameConfig {
+    double ballSpeed = 3.5;
+    double powerUpChance = 0.15;
+    int lives = 3;
+    int extraLives = 1;       // EXTRA_LIFE
+    int scoreBoost = 50;      // SCORE_BOOST, times the level
+    double slowFactor = 0.8;  // SLOW_BALL
+    double minBallSpeed = 2.5;
+    int slowTicks = 1250;     // SLOW_BALL duration (10 s); 0 slows the ball for the rest of the game
+    boolean endless = false;
+    double scrollSpeed = 0.04; // endless mode, pixels per tick at level 1
+    
+    GameConfig copy() {
+        GameConfig c = new GameConfig();
+        c.ballSpeed = ballSpeed;
+        c.powerUpChance = powerUpChance;
+        c.lives = lives;
+        c.extraLives = extraLives;
+        c.scoreBoost = scoreBoost;
+        c.slowFactor = slowFactor;
+        c.minBallSpeed = minBallSpeed;
+        c.slowTicks = slowTicks;
+        c.endless = endless;
+        c.scrollSpeed = scrollSpeed;
+        return c;
+    }
+    
+    // Defaults, overridden by -Dbrickbreaker.<field>=value
+    static GameConfig fromSystemProperties() {
+        GameConfig c = new GameConfig();
+        c.ballSpeed = Double.parseDouble(System.getProperty("brickbreaker.ballSpeed", "" + c.ballSpeed));
+        c.powerUpChance = Double.parseDouble(System.getProperty("brickbreaker.powerUpChance", "" + c.powerUpChance));
+        c.lives = Integer.getInteger("brickbreaker.lives", c.lives);
+        c.extraLives = Integer.getInteger("brickbreaker.extraLives", c.extraLives);
+        c.scoreBoost = Integer.getInteger("brickbreaker.scoreBoost", c.scoreBoost);
+        c.slowFactor = Double.parseDouble(System.getProperty("brickbreaker.slowFactor", "" + c.slowFactor));
+        c.minBallSpeed = Double.parseDouble(System.getProperty("brickbreaker.minBallSpeed", "" + c.minBallSpeed));
+        c.slowTicks = Integer.getInteger("brickbreaker.slowTicks", c.slowTicks);
+        c.endless = Boolean.getBoolean("brickbreaker.endless");
+        c.scrollSpeed = Double.parseDouble(System.getProperty("brickbreaker.scrollSpeed", "" + c.scrollSpeed));
+        return c;
+    }
+    
+    void write(DataOutputStream out) throws IOException {
+        out.writeDouble(ballSpeed);
+        out.writeDouble(powerUpChance);
+        out.writeInt(lives);
+        out.writeInt(extraLives);
+        out.writeInt(scoreBoost);
+        out.writeDouble(slowFactor);
+        out.writeDouble(minBallSpeed);
+        out.writeBoolean(endless);
+        out.writeDouble(scrollSpeed);
+        out.writeInt(slowTicks);
+    }
+    
+    // Reads a config written by a replay of the given version
+    static GameConfig read(DataInputStream in, int version) throws IOException {
+        GameConfig c = new GameConfig();
+        c.ballSpeed = in.readDouble();
+        c.powerUpChance = in.readDouble();
+        c.lives = in.readInt();
+        c.extraLives = in.readInt();
+        c.scoreBoost = in.readInt();
+        c.slowFactor = in.readDouble();
+        c.minBallSpeed = in.readDouble();
+        c.endless = in.readBoolean();
+        c.scrollSpeed = in.readDouble();
+        c.slowTicks = version >= 4 ? in.readInt() : 0; // slow ball never wore off before version 4
+        return c;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT,
+                             "ballSpeed=%.2f powerUpChance=%.2f lives=%d extraLives=%d scoreBoost=%d slowFactor=%.2f minBallSpeed=%.2f slowTicks=%d endless=%b scrollSpeed=%.3f",
+                             ballSpeed, powerUpChance, lives, extraLives, scoreBoost, slowFactor, minBallSpeed, slowTicks, endless, scrollSpeed);
+    }
+}
@@ -0,0 +1,141 @@
+package BrickBreakerGame;
+
+import java.awt.event.*;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Game Controls Class
+// Maps key codes onto the simulation: held keys become input bits, the rest are one-shot commands
+class GameControls {
+    int heldInput = 0;
+    private final GameMetrics metrics;
+    
+    // Quick saves and loads touch the disk here, never on the tick thread. One thread keeps them
+    // in key order, so F5 then F9 loads what was just saved.
+    private final ExecutorService io = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "game-io");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicReference<GameSnapshot> loaded = new AtomicReference<>();
+    
+    public GameControls(GameMetrics metrics) {
+        this.metrics = metrics;
+    }
+    
+    public void keyPressed(GameSimulation sim, int key) {
+        GameState gameState = sim.gameState;
+        
+        if (key == KeyEvent.VK_F3 && metrics != null) {
+            metrics.overlayVisible = !metrics.overlayVisible;
+        }
+        
+        if (key == KeyEvent.VK_F5 && gameState != GameState.MENU && gameState != GameState.GAME_OVER) {
+            saveGame(sim);
+        }
+        if (key == KeyEvent.VK_F9) {
+            loadGame();
+            return;
+        }
+        
+        if (key == KeyEvent.VK_ESCAPE) {
+            if (gameState == GameState.PLAYING || gameState == GameState.PAUSED) {
+                sim.resetGame();
+            }
+        }
+        
+        if (gameState == GameState.MENU) {
+            if (key == KeyEvent.VK_SPACE || key == KeyEvent.VK_ENTER) {
+                sim.start();
+            }
+            if (key == KeyEvent.VK_E) {
+                sim.setEndless(!sim.config.endless);
+            }
+        } else if (gameState == GameState.PLAYING) {
+            if (key == KeyEvent.VK_LEFT) {
+                heldInput |= GameSimulation.INPUT_LEFT;
+            }
+            if (key == KeyEvent.VK_RIGHT) {
+                heldInput |= GameSimulation.INPUT_RIGHT;
+            }
+            if (key == KeyEvent.VK_SPACE) {
+                if (sim.isBallResting()) {
+                    sim.pressInput(GameSimulation.INPUT_LAUNCH);
+                } else {
+                    sim.pause();
+                }
+            }
+        } else if (gameState == GameState.PAUSED) {
+            if (key == KeyEvent.VK_SPACE) {
+                sim.resume();
+            }
+        } else if (gameState == GameState.GAME_OVER) {
+            if (key == KeyEvent.VK_ENTER) {
+                sim.resetGame();
+            }
+        } else if (gameState == GameState.LEVEL_COMPLETE) {
+            if (key == KeyEvent.VK_ENTER) {
+                sim.pressInput(GameSimulation.INPUT_ADVANCE);
+            }
+        }
+    }
+    
+    // Quick save and load to -Dbrickbreaker.save (default brickbreaker-save.bin)
+    private static Path savePath() {
+        return Paths.get(System.getProperty("brickbreaker.save", "brickbreaker-save.bin"));
+    }
+    
+    // The state is captured on the tick thread; only the write happens in the background
+    private void saveGame(GameSimulation sim) {
+        GameSnapshot snapshot = new GameSnapshot();
+        sim.saveTo(snapshot);
+        io.execute(() -> {
+            try {
+                snapshot.save(savePath());
+            } catch (IOException e) {
+                System.err.println("Could not save game to " + savePath() + ": " + e.getMessage());
+            }
+        });
+    }
+    
+    // Reads and checks the save in the background; applyLoaded puts it into play
+    private void loadGame() {
+        io.execute(() -> {
+            if (!Files.exists(savePath())) {
+                return;
+            }
+            try {
+                loaded.set(GameSnapshot.load(savePath()));
+            } catch (IOException e) {
+                System.err.println("Could not load game from " + savePath() + ": " + e.getMessage());
+            }
+        });
+    }
+    
+    // Tick thread: restores a quick load once it has been read, before the next step
+    public void applyLoaded(GameSimulation sim) {
+        GameSnapshot snapshot = loaded.getAndSet(null);
+        if (snapshot == null) {
+            return;
+        }
+        sim.restore(snapshot);
+        if (sim.gameState == GameState.PLAYING) {
+            sim.pause(); // give the player a moment before play resumes
+        }
+        heldInput = 0;
+    }
+    
+    public void keyReleased(int key) {
+        if (key == KeyEvent.VK_LEFT) {
+            heldInput &= ~GameSimulation.INPUT_LEFT;
+        }
+        if (key == KeyEvent.VK_RIGHT) {
+            heldInput &= ~GameSimulation.INPUT_RIGHT;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package BrickBreakerGame;
+
+import java.util.Locale;
+
+// Game Event Types
+// What the simulation reports, each with up to three int fields named here (JSON keys)
+enum GameEvent {
+    GAME_STARTED("balls", "endless"),
+    BRICK_DESTROYED("row", "col", "type"),
+    POWER_UP_SPAWNED("power_up", "x", "y"),
+    POWER_UP_COLLECTED("power_up", "x", "y"),
+    LIFE_LOST("lives"),
+    LEVEL_COMPLETE("score"),
+    GAME_OVER("score");
+    
+    static final GameEvent[] TYPES = values();
+    final String[] fields;
+    final String key = name().toLowerCase(Locale.ROOT);
+    
+    GameEvent(String... fields) {
+        this.fields = fields;
+    }
+}
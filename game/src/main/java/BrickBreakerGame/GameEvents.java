@@ -0,0 +1,189 @@
+package BrickBreakerGame;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+// Game Events Class
+// Gameplay events published from the tick thread without allocating, locking or touching a file:
+// each event is a few primitives written into a preallocated single-producer single-consumer
+// ring. A background thread drains the ring in batches and hands each batch to the sinks. If
+// the ring is full the event is dropped and counted; the game never waits for the consumer.
+class GameEvents {
+    static final int DEFAULT_CAPACITY = 1 << 16;
+    static final int BATCH_SIZE = 4096;
+    private static final long DRAIN_NANOS = 10_000_000L; // consumer nap when it has caught up
+    private static final long FLUSH_NANOS = 1_000_000_000L;
+    
+    // Ring slots as parallel arrays
+    private final long[] ticks;
+    private final int[] types;
+    private final int[] levels;
+    private final int[] a, b, c;
+    private final int mask;
+    private final AtomicLong head = new AtomicLong(); // next slot to read, written by the consumer
+    private final AtomicLong tail = new AtomicLong(); // next slot to write, written by the producer
+    private final AtomicLong dropped = new AtomicLong(); // written by the producer
+    private long headSeen; // producer's last look at head; rereads it only when the ring seems full
+    
+    private final EventSink[] sinks;
+    private final EventBatch batch = new EventBatch(BATCH_SIZE);
+    private final Thread consumer;
+    private volatile boolean running = true;
+    
+    public GameEvents(int capacity, EventSink... sinks) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1) << 1);
+        ticks = new long[size];
+        types = new int[size];
+        levels = new int[size];
+        a = new int[size];
+        b = new int[size];
+        c = new int[size];
+        mask = size - 1;
+        this.sinks = sinks.clone();
+        consumer = new Thread(this::consume, "game-events");
+        consumer.setDaemon(true);
+        consumer.start();
+    }
+    
+    // Sinks named by -Dbrickbreaker.events, a comma-separated list: a .jsonl (or .json) path
+    // writes JSON lines, "stats" prints event counts on exit, any other path is a rolling binary
+    // log. Null when the property is unset, so nothing is published.
+    public static GameEvents fromSystemProperties() {
+        String spec = System.getProperty("brickbreaker.events");
+        if (spec == null || spec.isEmpty()) {
+            return null;
+        }
+        ArrayList<EventSink> sinks = new ArrayList<>();
+        for (String name : spec.split(",")) {
+            name = name.trim();
+            try {
+                if (name.equals("stats")) {
+                    sinks.add(new EventStats(true));
+                } else if (name.endsWith(".jsonl") || name.endsWith(".json")) {
+                    sinks.add(JsonLinesSink.open(Paths.get(name)));
+                } else if (!name.isEmpty()) {
+                    sinks.add(new EventLogSink(Paths.get(name), EventLogSink.DEFAULT_MAX_BYTES,
+                                               EventLogSink.DEFAULT_KEEP_FILES));
+                }
+            } catch (IOException e) {
+                System.err.println("Could not open event sink " + name + ": " + e.getMessage());
+            }
+        }
+        GameEvents events = new GameEvents(DEFAULT_CAPACITY, sinks.toArray(new EventSink[0]));
+        Runtime.getRuntime().addShutdownHook(new Thread(events::close, "game-events-close"));
+        return events;
+    }
+    
+    // Producer side; returns false if the ring was full and the event was dropped
+    public boolean publish(GameEvent type, long tick, int level, int a, int b, int c) {
+        long t = tail.get();
+        if (t - headSeen == ticks.length && t - (headSeen = head.get()) == ticks.length) {
+            dropped.lazySet(dropped.get() + 1);
+            return false;
+        }
+        int i = (int) t & mask;
+        ticks[i] = tick;
+        types[i] = type.ordinal();
+        levels[i] = level;
+        this.a[i] = a;
+        this.b[i] = b;
+        this.c[i] = c;
+        tail.lazySet(t + 1); // publishes the slot writes
+        return true;
+    }
+    
+    public long dropped() {
+        return dropped.get();
+    }
+    
+    // Stops the consumer after it has drained the ring, then flushes and closes the sinks
+    public void close() {
+        running = false;
+        LockSupport.unpark(consumer);
+        try {
+            consumer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    private void consume() {
+        long lastFlush = System.nanoTime();
+        while (true) {
+            boolean stopping = !running;
+            int n = drain();
+            if (n > 0) {
+                for (int s = 0; s < sinks.length; s++) {
+                    if (sinks[s] != null) {
+                        try {
+                            sinks[s].write(batch);
+                        } catch (IOException e) {
+                            fail(s, e);
+                        }
+                    }
+                }
+            }
+            long now = System.nanoTime();
+            if (now - lastFlush >= FLUSH_NANOS || (stopping && n == 0)) {
+                lastFlush = now;
+                flush();
+            }
+            if (n == 0 && stopping) {
+                break;
+            }
+            if (n < BATCH_SIZE) {
+                LockSupport.parkNanos(DRAIN_NANOS); // let the next batch build up
+            }
+        }
+        for (int s = 0; s < sinks.length; s++) {
+            if (sinks[s] != null) {
+                try {
+                    sinks[s].close();
+                } catch (IOException e) {
+                    fail(s, e);
+                }
+            }
+        }
+    }
+    
+    // Copies up to a batch of events out of the ring and frees their slots
+    private int drain() {
+        long h = head.get();
+        int n = (int) Math.min(tail.get() - h, batch.ticks.length);
+        for (int k = 0; k < n; k++) {
+            int i = (int) (h + k) & mask;
+            batch.ticks[k] = ticks[i];
+            batch.types[k] = types[i];
+            batch.levels[k] = levels[i];
+            batch.a[k] = a[i];
+            batch.b[k] = b[i];
+            batch.c[k] = c[i];
+        }
+        batch.size = n;
+        batch.firstSequence = h;
+        batch.dropped = dropped.get();
+        head.lazySet(h + n);
+        return n;
+    }
+    
+    private void flush() {
+        for (int s = 0; s < sinks.length; s++) {
+            if (sinks[s] != null) {
+                try {
+                    sinks[s].flush();
+                } catch (IOException e) {
+                    fail(s, e);
+                }
+            }
+        }
+    }
+    
+    // A sink that fails is dropped; the others carry on
+    private void fail(int s, IOException e) {
+        System.err.println("Game event sink failed, disabling it: " + e.getMessage());
+        sinks[s] = null;
+    }
+}
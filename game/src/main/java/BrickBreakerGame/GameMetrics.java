@@ -0,0 +1,195 @@
+package BrickBreakerGame;
+
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Locale;
+
+// Game Metrics Class
+// Tick, paint-phase, frame, runtime (GC/allocation) and entity-count histograms,
+// with a toggleable overlay summary and CSV/JSON export
+class GameMetrics {
+    static final int TICK = 0;
+    static final int FRAME = 1;
+    static final int FRAME_INTERVAL = 2;
+    static final int PAINT_BRICKS = 3;
+    static final int PAINT_PARTICLES = 4;
+    static final int PAINT_POWER_UPS = 5;
+    static final int PAINT_SPRITES = 6;
+    static final int PAINT_HUD = 7;
+    static final int BALLS = 8;
+    static final int PARTICLES = 9;
+    static final int POWER_UPS = 10;
+    static final int BRICKS = 11;
+    static final int ALLOC_BYTES_PER_SEC = 12;
+    static final int GC_COUNT_PER_SEC = 13;
+    static final int GC_MILLIS_PER_SEC = 14;
+    
+    static final String[] NAMES = {
+        "tick_ns", "frame_ns", "frame_interval_ns",
+        "paint_bricks_ns", "paint_particles_ns", "paint_power_ups_ns", "paint_sprites_ns", "paint_hud_ns",
+        "balls", "particles", "power_ups", "bricks",
+        "alloc_bytes_per_s", "gc_count_per_s", "gc_ms_per_s"
+    };
+    
+    private static final long SAMPLE_NANOS = 1_000_000_000L;
+    private static final long OVERLAY_REFRESH_NANOS = 500_000_000L;
+    
+    final Histogram[] histograms = new Histogram[NAMES.length];
+    volatile boolean overlayVisible = false;
+    
+    private long lastFrame = 0;
+    private long lastSample = System.nanoTime();
+    private long lastAllocated = -1;
+    private long lastGcCount = 0;
+    private long lastGcMillis = 0;
+    private long lastOverlay = 0;
+    private String[] overlayLines = new String[0];
+    
+    public GameMetrics() {
+        for (int i = 0; i < histograms.length; i++) {
+            histograms[i] = new Histogram();
+        }
+        sampleGc();
+    }
+    
+    public void record(int metric, long value) {
+        histograms[metric].record(value);
+    }
+    
+    // Called once per rendered frame with its paint time
+    public void frame(GameSimulation sim, long paintNanos) {
+        long now = System.nanoTime();
+        histograms[FRAME].record(paintNanos);
+        if (lastFrame != 0) {
+            histograms[FRAME_INTERVAL].record(now - lastFrame);
+        }
+        lastFrame = now;
+        
+        histograms[BALLS].record(sim.ballCount);
+        histograms[PARTICLES].record(sim.particles.size());
+        histograms[POWER_UPS].record(sim.powerUps.size());
+        histograms[BRICKS].record(sim.bricks.remaining());
+        
+        if (now - lastSample >= SAMPLE_NANOS) {
+            double seconds = (now - lastSample) / 1e9;
+            lastSample = now;
+            sampleRuntime(seconds);
+        }
+    }
+    
+    private void sampleRuntime(double seconds) {
+        long allocated = allocatedBytes();
+        if (allocated >= 0 && lastAllocated >= 0) {
+            // Threads that exited take their counts with them, so the delta can dip below zero
+            histograms[ALLOC_BYTES_PER_SEC].record((long) (Math.max(0, allocated - lastAllocated) / seconds));
+        }
+        lastAllocated = allocated;
+        
+        long gcCount = lastGcCount;
+        long gcMillis = lastGcMillis;
+        sampleGc();
+        histograms[GC_COUNT_PER_SEC].record((long) ((lastGcCount - gcCount) / seconds));
+        histograms[GC_MILLIS_PER_SEC].record((long) ((lastGcMillis - gcMillis) / seconds));
+    }
+    
+    private void sampleGc() {
+        long count = 0;
+        long millis = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, gc.getCollectionCount());
+            millis += Math.max(0, gc.getCollectionTime());
+        }
+        lastGcCount = count;
+        lastGcMillis = millis;
+    }
+    
+    // Bytes allocated by all live threads, or -1 where the JVM cannot tell
+    private static long allocatedBytes() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (!(threads instanceof com.sun.management.ThreadMXBean)) {
+            return -1;
+        }
+        com.sun.management.ThreadMXBean hotspot = (com.sun.management.ThreadMXBean) threads;
+        if (!hotspot.isThreadAllocatedMemoryEnabled()) {
+            return -1;
+        }
+        long total = 0;
+        for (long bytes : hotspot.getThreadAllocatedBytes(threads.getAllThreadIds())) {
+            total += Math.max(0, bytes);
+        }
+        return total;
+    }
+    
+    // Summary lines for the overlay, rebuilt twice a second so the overlay itself stays cheap
+    public String[] overlayLines() {
+        long now = System.nanoTime();
+        if (now - lastOverlay >= OVERLAY_REFRESH_NANOS) {
+            lastOverlay = now;
+            String[] lines = new String[NAMES.length + 1];
+            lines[0] = String.format(Locale.ROOT, "%-20s %9s %9s %9s", "metric", "p50", "p99", "max");
+            for (int i = 0; i < NAMES.length; i++) {
+                Histogram h = histograms[i];
+                boolean nanos = NAMES[i].endsWith("_ns");
+                synchronized (h) {
+                    lines[i + 1] = String.format(Locale.ROOT, "%-20s %9s %9s %9s", NAMES[i],
+                        format(h.percentile(50), nanos), format(h.percentile(99), nanos), format(h.max(), nanos));
+                }
+            }
+            overlayLines = lines;
+        }
+        return overlayLines;
+    }
+    
+    private static String format(long value, boolean nanos) {
+        return nanos ? String.format(Locale.ROOT, "%.3fms", value / 1e6) : Long.toString(value);
+    }
+    
+    // Writes every histogram's summary; JSON if the file name ends in .json, CSV otherwise
+    public void export(Path path) throws IOException {
+        boolean json = path.toString().endsWith(".json");
+        StringBuilder out = new StringBuilder();
+        if (json) {
+            out.append("{\n");
+        } else {
+            out.append("metric,count,min,mean,p50,p90,p99,p999,max\n");
+        }
+        for (int i = 0; i < NAMES.length; i++) {
+            Histogram h = histograms[i];
+            synchronized (h) {
+                if (json) {
+                    out.append(String.format(Locale.ROOT,
+                        "  \"%s\": {\"count\": %d, \"min\": %d, \"mean\": %.1f, \"p50\": %d, \"p90\": %d, "
+                        + "\"p99\": %d, \"p999\": %d, \"max\": %d}%s%n",
+                        NAMES[i], h.count(), h.min(), h.mean(), h.percentile(50), h.percentile(90),
+                        h.percentile(99), h.percentile(99.9), h.max(), i < NAMES.length - 1 ? "," : ""));
+                } else {
+                    out.append(String.format(Locale.ROOT, "%s,%d,%d,%.1f,%d,%d,%d,%d,%d%n",
+                        NAMES[i], h.count(), h.min(), h.mean(), h.percentile(50), h.percentile(90),
+                        h.percentile(99), h.percentile(99.9), h.max()));
+                }
+            }
+        }
+        if (json) {
+            out.append("}\n");
+        }
+        Files.write(path, out.toString().getBytes(StandardCharsets.UTF_8));
+    }
+    
+    // Exports to -Dbrickbreaker.metrics (default brickbreaker-metrics.csv) when the JVM exits
+    public void exportOnExit() {
+        String file = System.getProperty("brickbreaker.metrics", "brickbreaker-metrics.csv");
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                export(Paths.get(file));
+            } catch (IOException e) {
+                System.err.println("Could not write metrics to " + file + ": " + e.getMessage());
+            }
+        }, "metrics-export"));
+    }
+}
@@ -0,0 +1,41 @@
+package BrickBreakerGame;
+
+// Game Random Class
+// SplitMix64 generator: fast, well distributed, and its whole state is one long,
+// so a stream can be captured and restored exactly
+class GameRandom {
+    private long state;
+    
+    public GameRandom(long seed) {
+        state = seed;
+    }
+    
+    public long nextLong() {
+        return mix(state += 0x9E3779B97F4A7C15L);
+    }
+    
+    // Uniform in [0, 1)
+    public double nextDouble() {
+        return (nextLong() >>> 11) * 0x1.0p-53;
+    }
+    
+    // Uniform in [0, bound)
+    public int nextInt(int bound) {
+        return (int) (((nextLong() >>> 32) * bound) >>> 32);
+    }
+    
+    public long getState() {
+        return state;
+    }
+    
+    // The SplitMix64 output function on its own: a fast, well-mixed hash of a long
+    public static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+    
+    public void setState(long state) {
+        this.state = state;
+    }
+}
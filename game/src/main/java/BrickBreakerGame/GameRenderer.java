@@ -0,0 +1,476 @@
+package BrickBreakerGame;
+
+import java.awt.*;
+import java.util.HashMap;
+import java.util.Locale;
+
+// Game Renderer Class
+// Draws a simulation into any Graphics2D: the Swing panel or an active-rendering buffer
+public class GameRenderer {
+    private static final int WIDTH = GameSimulation.WIDTH;
+    private static final int HEIGHT = GameSimulation.HEIGHT;
+    
+    // Colors
+    private static final Color BACKGROUND_COLOR = new Color(20, 25, 35);
+    private static final Color BALL_COLOR = new Color(255, 255, 255);
+    private static final Color TITLE_COLOR = new Color(52, 152, 219);
+    private static final Color INSTRUCTION_COLOR = new Color(200, 200, 200);
+    private static final Color OVERLAY_COLOR = new Color(0, 0, 0, 150);
+    private static final Color GAME_OVER_COLOR = new Color(231, 76, 60);
+    private static final Color LEVEL_COMPLETE_COLOR = new Color(46, 204, 113);
+    private static final Color PROGRESS_TRACK = new Color(50, 50, 50);
+    private static final Color PROGRESS_FLAT = new Color(46, 204, 113);
+    private static final Color[] PULSE_COLORS = new Color[256];
+    static {
+        for (int a = 0; a < PULSE_COLORS.length; a++) {
+            PULSE_COLORS[a] = new Color(255, 255, 255, a);
+        }
+    }
+    
+    // Fonts and text, created once instead of every frame
+    private static final Font TITLE_FONT = new Font("Arial", Font.BOLD, 60);
+    private static final Font SUBTITLE_FONT = new Font("Arial", Font.PLAIN, 24);
+    private static final Font INSTRUCTION_FONT = new Font("Arial", Font.PLAIN, 18);
+    private static final Font HUD_FONT = new Font("Arial", Font.BOLD, 20);
+    private static final Font OVERLAY_TITLE_FONT = new Font("Arial", Font.BOLD, 50);
+    private static final Font OVERLAY_TEXT_FONT = new Font("Arial", Font.PLAIN, 30);
+    private static final Font OVERLAY_HINT_FONT = new Font("Arial", Font.PLAIN, 20);
+    private static final String ENDLESS_OFF = "E - Endless Mode: OFF";
+    private static final String ENDLESS_ON = "E - Endless Mode: ON";
+    private static final String[] INSTRUCTIONS = {
+        "Arrow Keys - Move Paddle",
+        "SPACE - Launch Ball / Pause",
+        "ESC - Return to Menu",
+        "",
+        "Break all bricks to advance!",
+        "Collect power-ups for bonuses!"
+    };
+    private final HashMap<String, Integer> textLayouts = new HashMap<>();
+    private int shownScore, shownLevel, finalScore, levelScore, shownProgress, shownSlow;
+    private int finalScoreX, levelScoreX;
+    private String scoreText, levelText, finalScoreText, levelScoreText, slowText;
+    
+    // Cached paints and sprites
+    private final GradientPaint bgGradient = new GradientPaint(0, 0, BACKGROUND_COLOR,
+                                                               0, HEIGHT, BACKGROUND_COLOR.darker());
+    private GradientPaint progressGradient;
+    private final SpriteAtlas atlas;
+    
+    // What the last damage() call saw, for dirty-rectangle repaints; sprite boxes get a pixel of
+    // slack because the atlas truncates positions
+    private static final int BALL_GLOW = 6;        // SpriteAtlas draws these margins around
+    private static final int POWER_UP_EXTENT = 21; // the ball and power-up centres
+    private DirtyRegion sprites = new DirtyRegion(WIDTH, HEIGHT);
+    private DirtyRegion lastSprites = new DirtyRegion(WIDTH, HEIGHT);
+    private GameState damagedState;
+    private BrickGenerator damagedBricks;
+    private int damagedLevel, damagedScore, damagedLives, damagedProgress, damagedTotal, damagedHistory, damagedSlow;
+    private boolean damagedEndless;
+    
+    // Set while a dirty-rectangle frame is painted region by region: each paint is only part of
+    // the frame, so the panel records the frame once itself and clipped phase times are not kept
+    boolean paintingRegion;
+    
+    // Leaderboard on the game over screen; null when runs are not kept. Queried only when a run
+    // has been added since, or the score shown changes
+    RunHistory history;
+    static final int LEADERBOARD_SIZE = 5;
+    private static final Font LEADERBOARD_FONT = new Font(Font.MONOSPACED, Font.BOLD, 16);
+    private int leaderboardVersion = -1, leaderboardScore;
+    private String rankText;
+    private String[] leaderboardLines = new String[0];
+    
+    // Quality tier chosen by the panel's governor; null draws everything at full quality
+    QualityGovernor quality;
+    private static final int REDUCED_PARTICLES = 400; // newest particles drawn from FEWER_PARTICLES on
+    private static final int REDUCED_PARTICLE_STRIDE = 2;
+    private int damagedTier;
+    
+    // Optional instrumentation; null when not measuring
+    private final GameMetrics metrics;
+    private static final Font METRICS_FONT = new Font(Font.MONOSPACED, Font.PLAIN, 11);
+    private static final Color METRICS_BACKGROUND = new Color(0, 0, 0, 170);
+    private static final Color METRICS_TEXT = new Color(120, 255, 160);
+    
+    public GameRenderer(int ballSize, GameMetrics metrics) {
+        atlas = new SpriteAtlas(ballSize, BALL_COLOR);
+        this.metrics = metrics;
+    }
+    
+    // alpha is how far the simulation has got towards its next tick, 0 to 1
+    public void render(Graphics2D g2d, GameSimulation sim, double alpha) {
+        long start = System.nanoTime();
+        int tier = tier();
+        atlas.glow = tier < QualityGovernor.NO_GLOW;
+        
+        // Enable anti-aliasing
+        if (tier < QualityGovernor.NO_ANTIALIAS) {
+            g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g2d.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        } else {
+            g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_OFF);
+            g2d.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_SPEED);
+        }
+        
+        // Background with gradient
+        if (tier < QualityGovernor.FLAT) {
+            g2d.setPaint(bgGradient);
+        } else {
+            g2d.setColor(BACKGROUND_COLOR);
+        }
+        g2d.fillRect(0, 0, WIDTH, HEIGHT);
+        
+        GameState gameState = sim.gameState;
+        if (gameState == GameState.MENU) {
+            drawMenu(g2d, sim);
+        } else {
+            // Only interpolate while the simulation is actually moving
+            drawGame(g2d, sim, gameState == GameState.PLAYING ? alpha : 1);
+            
+            if (gameState == GameState.PAUSED) {
+                drawPaused(g2d);
+            } else if (gameState == GameState.GAME_OVER) {
+                drawGameOver(g2d, sim);
+            } else if (gameState == GameState.LEVEL_COMPLETE) {
+                drawLevelComplete(g2d, sim);
+            }
+        }
+        
+        if (metrics != null) {
+            if (!paintingRegion) {
+                metrics.frame(sim, System.nanoTime() - start);
+            }
+            if (metrics.overlayVisible) {
+                drawMetrics(g2d);
+            }
+        }
+    }
+    
+    private int tier() {
+        return quality != null ? quality.tier() : QualityGovernor.FULL;
+    }
+    
+    // Panels report how long each whole frame took to paint (all of its regions, in dirty mode);
+    // only gameplay frames count, menus and overlays say nothing about busy levels
+    public void framePainted(GameSimulation sim, long nanos) {
+        if (quality != null && sim.gameState == GameState.PLAYING) {
+            quality.frame(nanos);
+        }
+    }
+    
+    // Dirty-rectangle mode: adds to the region everything that will look different from the
+    // previous frame given to this method, before the frame is drawn. Moving sprites are covered
+    // where they are now and where they were; bricks and HUD add only what changed. Returns false
+    // when the frame should simply be repainted whole.
+    public boolean damage(GameSimulation sim, double alpha, DirtyRegion region) {
+        GameState gameState = sim.gameState;
+        int historyVersion = history != null ? history.version() : 0;
+        boolean whole = gameState != damagedState || sim.level != damagedLevel || sim.bricks != damagedBricks
+                        || sim.config.endless != damagedEndless || (metrics != null && metrics.overlayVisible)
+                        || (gameState == GameState.GAME_OVER && historyVersion != damagedHistory)
+                        || tier() != damagedTier;
+        damagedHistory = historyVersion;
+        damagedTier = tier();
+        damagedState = gameState;
+        damagedLevel = sim.level;
+        damagedBricks = sim.bricks;
+        damagedEndless = sim.config.endless;
+        
+        DirtyRegion last = lastSprites;
+        lastSprites = sprites;
+        sprites = last;
+        sprites.clear();
+        if (gameState != GameState.MENU) {
+            alpha = gameState == GameState.PLAYING ? alpha : 1; // as render interpolates
+            for (int b = 0; b < sim.ballCount; b++) {
+                double x = sim.prevBallX[b] + (sim.ballX[b] - sim.prevBallX[b]) * alpha;
+                double y = sim.prevBallY[b] + (sim.ballY[b] - sim.prevBallY[b]) * alpha;
+                sprites.add(x - BALL_GLOW - 1, y - BALL_GLOW - 1, sim.ballSize + 2 * BALL_GLOW + 2, sim.ballSize + 2 * BALL_GLOW + 2);
+            }
+            int paddleX = (int)Math.round(sim.prevPlayerX + (sim.playerX - sim.prevPlayerX) * alpha);
+            sprites.add(paddleX, sim.paddleY, sim.paddleWidth, sim.paddleHeight);
+            for (PowerUp p : sim.powerUps) {
+                double y = p.y - p.vy * (1 - alpha);
+                sprites.add(p.x - POWER_UP_EXTENT - 1, y - POWER_UP_EXTENT - 1, 2 * POWER_UP_EXTENT + 2, 2 * POWER_UP_EXTENT + 2);
+            }
+            sim.particles.addBounds(sprites);
+        }
+        if (whole) {
+            sim.bricks.addDamage(null); // everything is redrawn anyway; just note where the grid now is
+            return false;
+        }
+        
+        region.addAll(sprites);
+        region.addAll(lastSprites);
+        sim.bricks.addDamage(region);
+        if (gameState == GameState.MENU) {
+            region.add(0, 220, WIDTH, 40); // the pulsing prompt
+        }
+        
+        // HUD text and the progress bar, where their values changed
+        if (sim.score != damagedScore) {
+            damagedScore = sim.score;
+            region.add(15, 5, 200, 32);
+        }
+        if (sim.lives != damagedLives) {
+            damagedLives = sim.lives;
+            region.add(WIDTH - 155, 5, 155, 35);
+        }
+        int slow = slowKey(sim);
+        if (slow != damagedSlow) {
+            damagedSlow = slow;
+            region.add(WIDTH - 155, 38, 155, 28);
+        }
+        int destroyed = sim.bricksDestroyed();
+        if (destroyed != damagedProgress || sim.totalBricks != damagedTotal) {
+            damagedProgress = destroyed;
+            damagedTotal = sim.totalBricks;
+            region.add((WIDTH - 200) / 2 - 2, HEIGHT - 27, 204, 14);
+        }
+        return true;
+    }
+    
+    private void drawMetrics(Graphics2D g2d) {
+        String[] lines = metrics.overlayLines();
+        int shown = lines.length + (quality != null ? 1 : 0);
+        g2d.setColor(METRICS_BACKGROUND);
+        g2d.fillRect(10, 45, 400, shown * 13 + 10);
+        g2d.setFont(METRICS_FONT);
+        g2d.setColor(METRICS_TEXT);
+        for (int i = 0; i < lines.length; i++) {
+            g2d.drawString(lines[i], 15, 60 + i * 13);
+        }
+        if (quality != null) {
+            g2d.drawString(quality.summary(), 15, 60 + lines.length * 13);
+        }
+    }
+    
+    // Records the time since mark under the given phase, returning the new mark
+    private long phase(int metric, long mark) {
+        if (metrics == null || paintingRegion) {
+            return mark;
+        }
+        long now = System.nanoTime();
+        metrics.record(metric, now - mark);
+        return now;
+    }
+    
+    // X position that centres a fixed string; each string is only ever drawn in one font
+    private int centeredX(Graphics2D g2d, Font font, String text) {
+        Integer x = textLayouts.get(text);
+        if (x == null) {
+            x = (WIDTH - g2d.getFontMetrics(font).stringWidth(text)) / 2;
+            textLayouts.put(text, x);
+        }
+        return x;
+    }
+    
+    private void drawCentered(Graphics2D g2d, Font font, String text, int y) {
+        g2d.setFont(font);
+        g2d.drawString(text, centeredX(g2d, font, text), y);
+    }
+    
+    private void drawMenu(Graphics2D g2d, GameSimulation sim) {
+        // Title
+        g2d.setColor(TITLE_COLOR);
+        drawCentered(g2d, TITLE_FONT, "BRICK BREAKER", 150);
+        
+        // Pulsing subtitle
+        int alpha = (int)(127 + 127 * Math.sin(System.currentTimeMillis() / 500.0));
+        g2d.setColor(PULSE_COLORS[alpha]);
+        drawCentered(g2d, SUBTITLE_FONT, "Press SPACE to Start", 250);
+        g2d.setColor(INSTRUCTION_COLOR);
+        drawCentered(g2d, INSTRUCTION_FONT, sim.config.endless ? ENDLESS_ON : ENDLESS_OFF, 285);
+        
+        // Instructions
+        g2d.setColor(INSTRUCTION_COLOR);
+        int startY = 320;
+        for (String line : INSTRUCTIONS) {
+            drawCentered(g2d, INSTRUCTION_FONT, line, startY);
+            startY += 30;
+        }
+    }
+    
+    private void drawGame(Graphics2D g2d, GameSimulation sim, double alpha) {
+        long mark = metrics != null ? System.nanoTime() : 0;
+        
+        // Draw bricks
+        sim.bricks.draw(g2d);
+        mark = phase(GameMetrics.PAINT_BRICKS, mark);
+        
+        // Draw particles
+        if (tier() < QualityGovernor.FEWER_PARTICLES) {
+            sim.particles.draw(g2d);
+        } else {
+            sim.particles.draw(g2d, REDUCED_PARTICLES, REDUCED_PARTICLE_STRIDE);
+        }
+        mark = phase(GameMetrics.PAINT_PARTICLES, mark);
+        
+        // Draw the power-ups under the clip, interpolated along their fall
+        Rectangle clip = g2d.getClipBounds();
+        int near = clip == null ? sim.powerUpsNear(0, 0, WIDTH, HEIGHT)
+                                : sim.powerUpsNear(clip.x, clip.y, clip.x + clip.width, clip.y + clip.height);
+        for (int k = 0; k < near; k++) {
+            PowerUp p = sim.powerUps.get(sim.powerUpNear(k));
+            atlas.drawPowerUp(g2d, p.type, p.x, p.y - p.vy * (1 - alpha));
+        }
+        mark = phase(GameMetrics.PAINT_POWER_UPS, mark);
+        
+        // Draw paddle
+        int paddleX = (int)Math.round(sim.prevPlayerX + (sim.playerX - sim.prevPlayerX) * alpha);
+        atlas.drawPaddle(g2d, paddleX, sim.paddleY, sim.paddleWidth, sim.paddleHeight);
+        
+        // Draw balls
+        for (int b = 0; b < sim.ballCount; b++) {
+            double x = sim.prevBallX[b] + (sim.ballX[b] - sim.prevBallX[b]) * alpha;
+            double y = sim.prevBallY[b] + (sim.ballY[b] - sim.prevBallY[b]) * alpha;
+            atlas.drawBall(g2d, x, y);
+        }
+        mark = phase(GameMetrics.PAINT_SPRITES, mark);
+        
+        // Draw HUD
+        drawHUD(g2d, sim);
+        phase(GameMetrics.PAINT_HUD, mark);
+    }
+    
+    private void drawHUD(Graphics2D g2d, GameSimulation sim) {
+        g2d.setFont(HUD_FONT);
+        g2d.setColor(Color.WHITE);
+        
+        // Score
+        if (sim.score != shownScore || scoreText == null) {
+            shownScore = sim.score;
+            scoreText = "Score: " + shownScore;
+        }
+        g2d.drawString(scoreText, 20, 30);
+        
+        // Level
+        if (sim.level != shownLevel || levelText == null) {
+            shownLevel = sim.level;
+            levelText = "Level: " + shownLevel;
+        }
+        g2d.drawString(levelText, WIDTH/2 - 40, 30);
+        
+        // Lives
+        g2d.drawString("Lives: ", WIDTH - 150, 30);
+        for (int i = 0; i < sim.lives; i++) {
+            atlas.drawLife(g2d, WIDTH - 90 + i * 25, 15);
+        }
+        
+        // Slow ball time left, and stacks when more than one
+        int slow = slowKey(sim);
+        if (slow != 0) {
+            if (slow != shownSlow || slowText == null) {
+                shownSlow = slow;
+                slowText = PowerUp.PowerUpType.SLOW_BALL.symbol + " " + slow % 10_000 + "s"
+                           + (slow >= 20_000 ? " x" + slow / 10_000 : "");
+            }
+            g2d.setColor(PowerUp.PowerUpType.SLOW_BALL.color);
+            g2d.drawString(slowText, WIDTH - 150, 58);
+        }
+        
+        // Progress bar
+        int barWidth = 200;
+        int barX = (WIDTH - barWidth) / 2;
+        int barY = HEIGHT - 25;
+        
+        g2d.setColor(PROGRESS_TRACK);
+        g2d.fillRoundRect(barX, barY, barWidth, 10, 5, 5);
+        
+        int totalBricks = sim.totalBricks;
+        int progress = totalBricks > 0 ? (sim.bricksDestroyed() * barWidth) / totalBricks : 0;
+        if (progressGradient == null || progress != shownProgress) {
+            shownProgress = progress;
+            progressGradient = new GradientPaint(
+                barX, barY, new Color(46, 204, 113),
+                barX + progress, barY, new Color(39, 174, 96)
+            );
+        }
+        if (tier() < QualityGovernor.FLAT) {
+            g2d.setPaint(progressGradient);
+        } else {
+            g2d.setColor(PROGRESS_FLAT);
+        }
+        g2d.fillRoundRect(barX, barY, progress, 10, 5, 5);
+    }
+    
+    // Slow ball stacks and whole seconds left in one number, 0 when it is not active
+    private static int slowKey(GameSimulation sim) {
+        int stacks = sim.effectStacks(PowerUp.PowerUpType.SLOW_BALL);
+        if (stacks == 0) {
+            return 0;
+        }
+        long ticks = sim.effectTicksLeft(PowerUp.PowerUpType.SLOW_BALL);
+        return stacks * 10_000 + (int) Math.ceil(ticks * GameSimulation.TICK_SECONDS);
+    }
+    
+    private void drawPaused(Graphics2D g2d) {
+        g2d.setColor(OVERLAY_COLOR);
+        g2d.fillRect(0, 0, WIDTH, HEIGHT);
+        
+        g2d.setColor(Color.WHITE);
+        drawCentered(g2d, OVERLAY_TITLE_FONT, "PAUSED", HEIGHT / 2);
+        drawCentered(g2d, OVERLAY_HINT_FONT, "Press SPACE to Resume", HEIGHT / 2 + 50);
+    }
+    
+    private void drawGameOver(Graphics2D g2d, GameSimulation sim) {
+        g2d.setColor(OVERLAY_COLOR);
+        g2d.fillRect(0, 0, WIDTH, HEIGHT);
+        
+        g2d.setColor(GAME_OVER_COLOR);
+        drawCentered(g2d, OVERLAY_TITLE_FONT, "GAME OVER", HEIGHT / 2 - 50);
+        
+        g2d.setColor(Color.WHITE);
+        if (sim.score != finalScore || finalScoreText == null) {
+            finalScore = sim.score;
+            finalScoreText = "Final Score: " + finalScore;
+            finalScoreX = (WIDTH - g2d.getFontMetrics(OVERLAY_TEXT_FONT).stringWidth(finalScoreText)) / 2;
+        }
+        g2d.setFont(OVERLAY_TEXT_FONT);
+        g2d.drawString(finalScoreText, finalScoreX, HEIGHT / 2 + 20);
+        drawCentered(g2d, OVERLAY_HINT_FONT, "Press ENTER to Restart", HEIGHT / 2 + 70);
+        if (history != null) {
+            drawLeaderboard(g2d, sim.score);
+        }
+    }
+    
+    private void drawLeaderboard(Graphics2D g2d, int score) {
+        int version = history.version();
+        if (version != leaderboardVersion || score != leaderboardScore) {
+            leaderboardVersion = version;
+            leaderboardScore = score;
+            rankText = String.format(Locale.ROOT, "Rank %,d of %,d", history.rankOf(score), history.size());
+            RunRecord[] top = history.top(LEADERBOARD_SIZE);
+            leaderboardLines = new String[top.length];
+            for (int i = 0; i < top.length; i++) {
+                leaderboardLines[i] = String.format(Locale.ROOT, "%d. %-15s %8d  L%-3d", i + 1, top[i].player,
+                                                    top[i].score, top[i].level);
+            }
+        }
+        g2d.setColor(INSTRUCTION_COLOR);
+        drawCentered(g2d, OVERLAY_HINT_FONT, rankText, HEIGHT / 2 + 110);
+        g2d.setFont(LEADERBOARD_FONT);
+        FontMetrics fm = g2d.getFontMetrics();
+        for (int i = 0; i < leaderboardLines.length; i++) {
+            g2d.drawString(leaderboardLines[i], (WIDTH - fm.stringWidth(leaderboardLines[i])) / 2, HEIGHT / 2 + 140 + i * 20);
+        }
+    }
+    
+    private void drawLevelComplete(Graphics2D g2d, GameSimulation sim) {
+        g2d.setColor(OVERLAY_COLOR);
+        g2d.fillRect(0, 0, WIDTH, HEIGHT);
+        
+        g2d.setColor(LEVEL_COMPLETE_COLOR);
+        drawCentered(g2d, OVERLAY_TITLE_FONT, "LEVEL COMPLETE!", HEIGHT / 2 - 50);
+        
+        g2d.setColor(Color.WHITE);
+        if (sim.score != levelScore || levelScoreText == null) {
+            levelScore = sim.score;
+            levelScoreText = "Score: " + levelScore;
+            levelScoreX = (WIDTH - g2d.getFontMetrics(OVERLAY_TEXT_FONT).stringWidth(levelScoreText)) / 2;
+        }
+        g2d.setFont(OVERLAY_TEXT_FONT);
+        g2d.drawString(levelScoreText, levelScoreX, HEIGHT / 2 + 20);
+        drawCentered(g2d, OVERLAY_HINT_FONT, "Press ENTER for Next Level", HEIGHT / 2 + 70);
+    }
+}
@@ -0,0 +1,1002 @@
+package BrickBreakerGame;
+
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Random;
+
+// Game Simulation Class
+// Owns all game state and advances it on a fixed timestep, independent of Swing
+public class GameSimulation {
+    static final int WIDTH = 700;
+    static final int HEIGHT = 600;
+    static final double TICK_SECONDS = 0.008;
+    static final int MAX_TICKS_PER_ADVANCE = 25;
+    
+    // Input bits sampled once per tick
+    static final int INPUT_LEFT = 1;
+    static final int INPUT_RIGHT = 2;
+    static final int INPUT_LAUNCH = 4;
+    static final int INPUT_ADVANCE = 8;
+    
+    // Collision resolution
+    static final int MAX_BOUNCES = 8;
+    private static final int HIT_NONE = 0;
+    private static final int HIT_WALL = 1;
+    private static final int HIT_PADDLE = 2;
+    private static final int HIT_BRICK = 3;
+    
+    static final Color PADDLE_COLOR = new Color(52, 152, 219);
+    
+    GameState gameState = GameState.MENU;
+    
+    // Game settings
+    int level = 1;
+    int score = 0;
+    int lives;
+    int totalBricks = 0;
+    long tickCount = 0;
+    
+    // Optional tick timing; null in headless runs
+    GameMetrics metrics;
+    
+    // Fixed timestep
+    private double accumulator = 0;
+    private int heldInput = 0;
+    private int pendingInput = 0;
+    
+    // Paddle
+    int playerX = 310;
+    int paddleWidth = 100;
+    int paddleHeight = 12;
+    int paddleY = 530;
+    int prevPlayerX = 310;
+    private int paddleSpeed = 0;
+    
+    // Balls, stored as parallel arrays (top-left position, velocity per tick)
+    static final int MAX_BALLS = 1024;
+    double[] ballX = new double[16];
+    double[] ballY = new double[16];
+    double[] ballVX = new double[16];
+    double[] ballVY = new double[16];
+    double[] prevBallX = new double[16]; // positions at the start of the last tick, for interpolation
+    double[] prevBallY = new double[16];
+    int ballCount = 1;
+    int ballSize = 18;
+    double ballSpeed;
+    int serveBalls = 1; // balls put in play by each launch (multi-ball mode when > 1)
+    
+    // Entities
+    static final int DEFAULT_PARTICLE_CAPACITY = 4096;
+    final ParticleSystem particles;
+    final ArrayList<PowerUp> powerUps = new ArrayList<>();
+    private final ArrayList<PowerUp> powerUpPool = new ArrayList<>();
+    
+    // Power-ups filed by position (indices into powerUps) for the paddle pickup and draw culling;
+    // the margin covers the sprite, which is larger than the pickup box
+    private final SpatialGrid powerUpGrid = new SpatialGrid(WIDTH, HEIGHT, 64, 24);
+    private boolean powerUpGridStale = true;
+    private int[] caughtPowerUps = new int[8];
+    BrickGenerator bricks;
+    private final GameRandom random;
+    private final SweptCollision sweep = new SweptCollision();
+    private int brickHitRow, brickHitCol;
+    private double brickHitNormalX, brickHitNormalY;
+    
+    // Colors
+    private Color[] brickColors = {
+        new Color(231, 76, 60),   // Red
+        new Color(230, 126, 34),  // Orange
+        new Color(241, 196, 15),  // Yellow
+        new Color(46, 204, 113),  // Green
+        new Color(52, 152, 219),  // Blue
+        new Color(155, 89, 182),  // Purple
+        new Color(236, 240, 241)  // Light gray
+    };
+    
+    // Balancing knobs (speeds, drop chance, power-up effects, endless mode)
+    final GameConfig config;
+    
+    // Procedural layouts; a new seed is drawn for every game
+    long layoutSeed;
+    private LevelGenerator levels;
+    
+    // Designed levels played before the procedural ones; null when there is no pack
+    private LevelPack pack;
+    
+    // Classic levels grow to this size; endless mode scrolls a fixed window of rows
+    static final int MAX_ROWS = 10;
+    static final int MAX_COLS = 12;
+    static final int ENDLESS_COLS = 10;
+    static final int ENDLESS_ROWS = 21;
+    static final int ENDLESS_FILLED_ROWS = 6;
+    static final int ENDLESS_ROWS_PER_LEVEL = 20;
+    private int[] explosions = new int[16];
+    
+    // Input log of the current game, when recording
+    ReplayRecorder recorder;
+    
+    // Where finished runs are filed; null when runs are not kept
+    RunHistory history;
+    
+    // Gameplay event stream for analytics; null when nobody listens
+    GameEvents events;
+    
+    // Timed power-up effects, on a clock that only runs while playing. Each pickup adds a stack
+    // with its own expiry timer, oldest first; past MAX_EFFECT_STACKS the oldest is renewed.
+    static final int MAX_EFFECT_STACKS = 3;
+    private final TimerWheel effects = new TimerWheel(16);
+    private final int[] effectStacks = new int[PowerUp.TYPES.length];
+    private final int[][] effectTimers = new int[PowerUp.TYPES.length][MAX_EFFECT_STACKS];
+    private final TimerWheel.Expiry effectExpiry = this::effectExpired;
+    
+    GameSimulation() {
+        this(new Random().nextLong());
+    }
+    
+    GameSimulation(long seed) {
+        this(seed, DEFAULT_PARTICLE_CAPACITY, new GameConfig());
+    }
+    
+    // Gameplay randomness comes from one seeded stream, so a seed plus the per-tick inputs
+    // reproduce a game exactly; particles use their own stream and never affect gameplay
+    GameSimulation(long seed, int particleCapacity, GameConfig config) {
+        this.config = config;
+        random = new GameRandom(seed);
+        particles = new ParticleSystem(particleCapacity, ~seed);
+        lives = config.lives;
+        ballSpeed = config.ballSpeed;
+        setLayoutSeed(random.nextLong());
+    }
+    
+    // Chooses the layouts for the next game (replays and saves restore the recorded seed)
+    void setLayoutSeed(long seed) {
+        layoutSeed = seed;
+        levels = new LevelGenerator(seed);
+        initLevel(level);
+    }
+    
+    private void initLevel(int lvl) {
+        LevelData designed = pack != null && !config.endless ? pack.levelOrNull(lvl) : null;
+        if (config.endless) {
+            bricks = new BrickGenerator(ENDLESS_ROWS, ENDLESS_COLS, 540 / ENDLESS_COLS, 20, brickColors);
+            bricks.startScrolling(levels, lvl, ENDLESS_FILLED_ROWS);
+            totalBricks = 0;
+        } else if (designed != null) {
+            bricks = new BrickGenerator(designed.rows, designed.cols, designed.brickWidth, designed.brickHeight,
+                                        brickColors);
+            bricks.load(designed.cells);
+            totalBricks = bricks.remaining();
+        } else {
+            bricks = new BrickGenerator(Math.min(3 + lvl, MAX_ROWS), Math.min(7 + (lvl - 1) / 2, MAX_COLS),
+                                        brickColors);
+            bricks.generate(levels, lvl);
+            totalBricks = bricks.remaining();
+        }
+        
+        // Reset ball position but keep lives and score
+        ballCount = 1;
+        ballX[0] = 340;
+        ballY[0] = 400;
+        ballVX[0] = 0;
+        ballVY[0] = 0;
+        prevBallX[0] = ballX[0];
+        prevBallY[0] = ballY[0];
+        playerX = 300;
+        prevPlayerX = playerX;
+        paddleSpeed = 0;
+    }
+    
+    // Replaces the current level with a full rows x cols grid (for custom and stress levels)
+    void loadGrid(int rows, int cols) {
+        bricks = new BrickGenerator(rows, cols, brickColors);
+        totalBricks = rows * cols;
+    }
+    
+    void resetGame() {
+        endRun();
+        setLayoutSeed(random.nextLong());
+        gameState = GameState.MENU;
+    }
+    
+    // As above, with the next layout chosen by the caller, so it is only built once
+    void resetGame(long layoutSeed) {
+        endRun();
+        setLayoutSeed(layoutSeed);
+        gameState = GameState.MENU;
+    }
+    
+    // Files the run being left and clears everything but the layout
+    private void endRun() {
+        if (recorder != null && recorder.isRecording()) {
+            recorder.finish(this);
+        }
+        if (history != null && gameState != GameState.MENU && gameState != GameState.GAME_OVER) {
+            history.record(this); // abandoned mid-game
+        }
+        level = 1;
+        score = 0;
+        lives = config.lives;
+        tickCount = 0;
+        clearEffects();
+        ballSpeed = config.ballSpeed;
+        powerUpPool.addAll(powerUps);
+        powerUps.clear();
+        powerUpGridStale = true;
+        particles.clear();
+    }
+    
+    // Plays levels from a pack (null for procedural levels only); levels past the end of the
+    // pack are generated as usual
+    void setLevelPack(LevelPack pack) {
+        if (this.pack != pack) {
+            this.pack = pack;
+            if (gameState == GameState.MENU) {
+                initLevel(level);
+            }
+        }
+    }
+    
+    // Switches between classic levels and endless mode before a game starts
+    void setEndless(boolean endless) {
+        if (gameState == GameState.MENU && config.endless != endless) {
+            config.endless = endless;
+            level = 1;
+            initLevel(level);
+        }
+    }
+    
+    // Picks the level a new game starts on
+    void selectLevel(int lvl) {
+        if (gameState == GameState.MENU) {
+            level = lvl;
+            initLevel(level);
+        }
+    }
+    
+    void start() {
+        if (gameState == GameState.MENU) {
+            gameState = GameState.PLAYING;
+            if (recorder != null) {
+                recorder.begin(random.getState(), layoutSeed, serveBalls, level, config);
+            }
+            publish(GameEvent.GAME_STARTED, serveBalls, config.endless ? 1 : 0, 0);
+        }
+    }
+    
+    // Reports a gameplay event, stamped with the tick and level, if anyone is listening
+    void publish(GameEvent type, int a, int b, int c) {
+        if (events != null) {
+            events.publish(type, tickCount, level, a, b, c);
+        }
+    }
+    
+    // Seed of the gameplay random stream as it stands now
+    long randomState() {
+        return random.getState();
+    }
+    
+    void setRandomState(long state) {
+        random.setState(state);
+    }
+    
+    // Hash of the gameplay state, for checking that a replay matches the original run exactly
+    long stateHash() {
+        long h = 17;
+        h = h * 31 + level;
+        h = h * 31 + score;
+        h = h * 31 + lives;
+        h = h * 31 + bricks.remaining();
+        h = h * 31 + bricks.rowsGenerated();
+        h = h * 31 + tickCount;
+        h = h * 31 + playerX;
+        h = h * 31 + gameState.ordinal();
+        h = h * 31 + random.getState();
+        for (int b = 0; b < ballCount; b++) {
+            h = h * 31 + Double.doubleToLongBits(ballX[b]);
+            h = h * 31 + Double.doubleToLongBits(ballY[b]);
+            h = h * 31 + Double.doubleToLongBits(ballVX[b]);
+            h = h * 31 + Double.doubleToLongBits(ballVY[b]);
+        }
+        return h;
+    }
+    
+    // Copies the full game state into a snapshot, reusing its arrays; the brick map is shared
+    // copy-on-write, so this is a handful of array copies
+    void saveTo(GameSnapshot s) {
+        s.gameState = gameState;
+        s.level = level;
+        s.score = score;
+        s.lives = lives;
+        s.totalBricks = totalBricks;
+        s.tickCount = tickCount;
+        s.random = random.getState();
+        s.playerX = playerX;
+        s.paddleSpeed = paddleSpeed;
+        s.ballSpeed = ballSpeed;
+        s.serveBalls = serveBalls;
+        
+        s.ensureBalls(ballCount);
+        s.ballCount = ballCount;
+        System.arraycopy(ballX, 0, s.ballX, 0, ballCount);
+        System.arraycopy(ballY, 0, s.ballY, 0, ballCount);
+        System.arraycopy(ballVX, 0, s.ballVX, 0, ballCount);
+        System.arraycopy(ballVY, 0, s.ballVY, 0, ballCount);
+        System.arraycopy(prevBallX, 0, s.prevBallX, 0, ballCount);
+        System.arraycopy(prevBallY, 0, s.prevBallY, 0, ballCount);
+        s.prevPlayerX = prevPlayerX;
+        
+        s.layoutSeed = layoutSeed;
+        s.endless = config.endless;
+        bricks.saveTo(s);
+        
+        int n = powerUps.size();
+        s.ensurePowerUps(n);
+        s.powerUpCount = n;
+        for (int i = 0; i < n; i++) {
+            PowerUp p = powerUps.get(i);
+            s.powerUpX[i] = p.x;
+            s.powerUpY[i] = p.y;
+            s.powerUpVY[i] = p.vy;
+            s.powerUpType[i] = (byte) p.type.ordinal();
+        }
+        
+        int effectCount = 0;
+        for (int stacks : effectStacks) {
+            effectCount += stacks;
+        }
+        s.ensureEffects(effectCount);
+        s.effectCount = 0;
+        for (int t = 0; t < effectStacks.length; t++) {
+            for (int i = 0; i < effectStacks[t]; i++) {
+                s.effectType[s.effectCount] = (byte) t;
+                s.effectTicks[s.effectCount++] = (int) effects.remaining(effectTimers[t][i]);
+            }
+        }
+        
+        particles.saveTo(s);
+    }
+    
+    // Puts the game back exactly as it was when the snapshot was taken
+    void restore(GameSnapshot s) {
+        if (recorder != null && recorder.isRecording()) {
+            recorder.finish(this); // the recording cannot continue from a different state
+        }
+        gameState = s.gameState;
+        level = s.level;
+        score = s.score;
+        lives = s.lives;
+        totalBricks = s.totalBricks;
+        tickCount = s.tickCount;
+        random.setState(s.random);
+        playerX = s.playerX;
+        prevPlayerX = s.prevPlayerX;
+        paddleSpeed = s.paddleSpeed;
+        ballSpeed = s.ballSpeed;
+        serveBalls = s.serveBalls;
+        accumulator = 0;
+        pendingInput = 0;
+        
+        if (ballX.length < s.ballCount) {
+            int capacity = Math.max(s.ballCount, ballX.length * 2);
+            ballX = new double[capacity];
+            ballY = new double[capacity];
+            ballVX = new double[capacity];
+            ballVY = new double[capacity];
+            prevBallX = new double[capacity];
+            prevBallY = new double[capacity];
+        }
+        ballCount = s.ballCount;
+        System.arraycopy(s.ballX, 0, ballX, 0, ballCount);
+        System.arraycopy(s.ballY, 0, ballY, 0, ballCount);
+        System.arraycopy(s.ballVX, 0, ballVX, 0, ballCount);
+        System.arraycopy(s.ballVY, 0, ballVY, 0, ballCount);
+        System.arraycopy(s.prevBallX, 0, prevBallX, 0, ballCount);
+        System.arraycopy(s.prevBallY, 0, prevBallY, 0, ballCount);
+        
+        if (layoutSeed != s.layoutSeed) {
+            layoutSeed = s.layoutSeed;
+            levels = new LevelGenerator(layoutSeed);
+        }
+        config.endless = s.endless;
+        if (bricks.rows() != s.brickRows || bricks.cols() != s.brickCols
+                || bricks.brickWidth != s.brickWidth || bricks.brickHeight != s.brickHeight) {
+            bricks = new BrickGenerator(s.brickRows, s.brickCols, s.brickWidth, s.brickHeight, brickColors);
+        }
+        bricks.restoreFrom(s);
+        
+        for (int i = powerUps.size() - 1; i >= 0; i--) {
+            powerUpPool.add(powerUps.remove(i));
+        }
+        for (int i = 0; i < s.powerUpCount; i++) {
+            PowerUp p = obtainPowerUp((int) s.powerUpX[i], (int) s.powerUpY[i], PowerUp.TYPES[s.powerUpType[i]]);
+            p.x = s.powerUpX[i];
+            p.y = s.powerUpY[i];
+            p.vy = s.powerUpVY[i];
+            powerUps.add(p);
+        }
+        powerUpGridStale = true;
+        
+        // Timers come back with the ticks they had left; the ball speed was restored above
+        clearEffects();
+        for (int i = 0; i < s.effectCount; i++) {
+            int t = s.effectType[i];
+            if (effectStacks[t] < MAX_EFFECT_STACKS) {
+                effectTimers[t][effectStacks[t]++] = effects.schedule(s.effectTicks[i], t);
+            }
+        }
+        
+        particles.restoreFrom(s);
+    }
+    
+    void pause() {
+        if (gameState == GameState.PLAYING) {
+            gameState = GameState.PAUSED;
+        }
+    }
+    
+    void resume() {
+        if (gameState == GameState.PAUSED) {
+            gameState = GameState.PLAYING;
+        }
+    }
+    
+    int bricksDestroyed() {
+        return totalBricks - bricks.remaining();
+    }
+    
+    // Paddle velocity in pixels per tick
+    int paddleVelocity() {
+        return paddleSpeed;
+    }
+    
+    boolean isBallResting() {
+        return ballCount == 1 && ballVX[0] == 0 && ballVY[0] == 0;
+    }
+    
+    // Inputs held down (paddle movement), sampled on every tick
+    void setHeldInput(int input) {
+        heldInput = input;
+    }
+    
+    // One-shot inputs (launch, advance), consumed by the next tick
+    void pressInput(int input) {
+        pendingInput |= input;
+    }
+    
+    // Runs as many fixed ticks as fit into the elapsed wall time; returns the number of ticks run
+    int advance(double seconds) {
+        accumulator += seconds;
+        int steps = 0;
+        while (accumulator >= TICK_SECONDS) {
+            if (steps == MAX_TICKS_PER_ADVANCE) {
+                // Too far behind (e.g. after a stall), drop the backlog instead of spiralling
+                accumulator = 0;
+                break;
+            }
+            step();
+            accumulator -= TICK_SECONDS;
+            steps++;
+        }
+        return steps;
+    }
+    
+    // Runs one tick with the current held and pending input, timed when metrics are attached
+    void step() {
+        if (metrics != null) {
+            long start = System.nanoTime();
+            tick(heldInput | pendingInput);
+            metrics.record(GameMetrics.TICK, System.nanoTime() - start);
+        } else {
+            tick(heldInput | pendingInput);
+        }
+        pendingInput = 0;
+    }
+    
+    // Fraction of a tick left in the accumulator, for render interpolation
+    double alpha() {
+        return accumulator / TICK_SECONDS;
+    }
+    
+    // Paddle velocity after one tick of input; also used by versus clients to predict their paddle
+    static int steerPaddle(int speed, int input) {
+        if ((input & INPUT_LEFT) != 0) {
+            return -8;
+        } else if ((input & INPUT_RIGHT) != 0) {
+            return 8;
+        }
+        return (int) (speed * 0.9); // Friction
+    }
+    
+    static int clampPaddle(int x, int paddleWidth) {
+        return Math.max(0, Math.min(x, WIDTH - paddleWidth));
+    }
+    
+    // Advances the game by exactly one fixed step
+    void tick(int input) {
+        // Only ticks that can change the game are logged; paused and menu ticks are no-ops
+        if (recorder != null && (gameState == GameState.PLAYING || gameState == GameState.LEVEL_COMPLETE)) {
+            recorder.record(input);
+        }
+        
+        if (gameState == GameState.LEVEL_COMPLETE) {
+            if ((input & INPUT_ADVANCE) != 0) {
+                level++;
+                initLevel(level);
+                gameState = GameState.PLAYING;
+            }
+            return;
+        }
+        if (gameState != GameState.PLAYING) {
+            return;
+        }
+        tickCount++;
+        effects.advance(effectExpiry);
+        
+        // Remember where everything was, so renderers can interpolate towards this tick
+        prevPlayerX = playerX;
+        System.arraycopy(ballX, 0, prevBallX, 0, ballCount);
+        System.arraycopy(ballY, 0, prevBallY, 0, ballCount);
+        
+        if ((input & INPUT_LAUNCH) != 0) {
+            launchBall();
+        }
+        
+        // Update paddle
+        paddleSpeed = steerPaddle(paddleSpeed, input);
+        playerX = clampPaddle(playerX + paddleSpeed, paddleWidth);
+        
+        // Update balls
+        if (!isBallResting()) {
+            for (int b = 0; b < ballCount && gameState == GameState.PLAYING; ) {
+                moveBall(b);
+                
+                // Ball falls off screen
+                if (ballY[b] > HEIGHT) {
+                    removeBall(b);
+                } else {
+                    b++;
+                }
+            }
+            
+            // Last ball lost
+            if (ballCount == 0) {
+                loseLife();
+                ballCount = 1;
+                ballX[0] = playerX + paddleWidth/2 - ballSize/2;
+                ballY[0] = paddleY - ballSize - 5;
+                ballVX[0] = 0;
+                ballVY[0] = 0;
+                prevBallX[0] = ballX[0];
+                prevBallY[0] = ballY[0];
+            }
+        } else {
+            // Ball follows paddle before launch
+            ballX[0] = playerX + paddleWidth/2 - ballSize/2;
+            ballY[0] = paddleY - ballSize - 5;
+        }
+        
+        // Endless mode: the wall creeps down while the ball is in play, faster every level
+        if (config.endless && gameState == GameState.PLAYING && !isBallResting()) {
+            int lost = bricks.scroll(config.scrollSpeed * (1 + 0.1 * (level - 1)), levels, level);
+            level = 1 + (int) (bricks.rowsGenerated() / ENDLESS_ROWS_PER_LEVEL);
+            if (lost > 0) {
+                loseLife(); // bricks reached the bottom of the window
+            }
+        }
+        
+        // Update particles
+        particles.update();
+        
+        // Update power-ups; finished ones go back to the pool, so steady play allocates nothing
+        for (int i = 0; i < powerUps.size(); ) {
+            PowerUp p = powerUps.get(i);
+            p.update();
+            if (p.y > HEIGHT) {
+                powerUpPool.add(powerUps.remove(i));
+            } else {
+                i++;
+            }
+        }
+        powerUpGridStale = true;
+        
+        // Only power-ups filed near the paddle are tested; catches activate in list order
+        if (!powerUps.isEmpty()) {
+            int n = powerUpsNear(playerX, paddleY, playerX + paddleWidth, paddleY + paddleHeight);
+            int caught = 0;
+            for (int k = 0; k < n; k++) {
+                int i = powerUpNear(k);
+                PowerUp p = powerUps.get(i);
+                if (p.x + 15 > playerX && p.x - 15 < playerX + paddleWidth
+                        && p.y + 15 > paddleY && p.y - 15 < paddleY + paddleHeight) {
+                    p.activate(this);
+                    particles.emit((int)p.x, (int)p.y, p.color, 20);
+                    if (caught == caughtPowerUps.length) {
+                        caughtPowerUps = Arrays.copyOf(caughtPowerUps, caught * 2);
+                    }
+                    caughtPowerUps[caught++] = i;
+                }
+            }
+            for (int c = caught - 1; c >= 0; c--) {
+                powerUpPool.add(powerUps.remove(caughtPowerUps[c]));
+                powerUpGridStale = true;
+            }
+        }
+    }
+    
+    // Finds the power-ups that may overlap a box; returns how many, read back with powerUpNear.
+    // They come in list order, so catches and overlapping sprites keep a stable order
+    int powerUpsNear(double x0, double y0, double x1, double y1) {
+        if (powerUpGridStale) {
+            powerUpGrid.clear();
+            for (int i = 0; i < powerUps.size(); i++) {
+                PowerUp p = powerUps.get(i);
+                powerUpGrid.add(i, p.x, p.y);
+            }
+            powerUpGridStale = false;
+        }
+        int n = powerUpGrid.query(x0, y0, x1, y1);
+        Arrays.sort(powerUpGrid.results, 0, n);
+        return n;
+    }
+    
+    // Index into powerUps of the k-th power-up found by the last powerUpsNear
+    int powerUpNear(int k) {
+        return powerUpGrid.results[k];
+    }
+    
+    private PowerUp obtainPowerUp(int x, int y, PowerUp.PowerUpType type) {
+        if (powerUpPool.isEmpty()) {
+            return new PowerUp(x, y, type);
+        }
+        return powerUpPool.remove(powerUpPool.size() - 1).reset(x, y, type);
+    }
+    
+    // Moves ball b along its velocity for one tick, resolving every contact in time order
+    private void moveBall(int b) {
+        double r = ballSize / 2.0;
+        double cx = ballX[b] + r;
+        double cy = ballY[b] + r;
+        double vx = ballVX[b];
+        double vy = ballVY[b];
+        double remaining = 1;
+        
+        for (int bounce = 0; bounce < MAX_BOUNCES && remaining > 0 && gameState == GameState.PLAYING; bounce++) {
+            double dx = vx * remaining;
+            double dy = vy * remaining;
+            
+            int hitKind = HIT_NONE;
+            double bestTime = 2;
+            double normalX = 0;
+            double normalY = 0;
+            int hitRow = -1;
+            int hitCol = -1;
+            
+            // Walls
+            if (dx < 0) {
+                double t = Math.max(0, (r - cx) / dx);
+                if (t <= 1 && t < bestTime) {
+                    hitKind = HIT_WALL; bestTime = t; normalX = 1; normalY = 0;
+                }
+            } else if (dx > 0) {
+                double t = Math.max(0, (WIDTH - r - cx) / dx);
+                if (t <= 1 && t < bestTime) {
+                    hitKind = HIT_WALL; bestTime = t; normalX = -1; normalY = 0;
+                }
+            }
+            if (dy < 0) {
+                double t = Math.max(0, (r - cy) / dy);
+                if (t <= 1 && t < bestTime) {
+                    hitKind = HIT_WALL; bestTime = t; normalX = 0; normalY = 1;
+                }
+            }
+            
+            // Paddle
+            if (sweep.sweep(cx, cy, dx, dy, r, playerX, paddleY, playerX + paddleWidth, paddleY + paddleHeight)
+                    && sweep.time < bestTime) {
+                hitKind = HIT_PADDLE; bestTime = sweep.time; normalX = sweep.normalX; normalY = sweep.normalY;
+            }
+            
+            // Bricks
+            double brickTime = findBrickHit(cx, cy, dx, dy, r);
+            if (brickTime < bestTime) {
+                hitKind = HIT_BRICK; bestTime = brickTime;
+                normalX = brickHitNormalX; normalY = brickHitNormalY;
+                hitRow = brickHitRow; hitCol = brickHitCol;
+            }
+            
+            if (hitKind == HIT_NONE) {
+                cx += dx;
+                cy += dy;
+                break;
+            }
+            
+            // Advance to the moment of contact and bounce off the contact normal
+            cx += dx * bestTime;
+            cy += dy * bestTime;
+            remaining *= 1 - bestTime;
+            
+            if (hitKind == HIT_PADDLE && normalY < 0) {
+                // Calculate hit position on paddle (-1 to 1)
+                double hitPos = (cx - (playerX + paddleWidth/2)) / (paddleWidth/2);
+                hitPos = Math.max(-1, Math.min(1, hitPos));
+                
+                // Adjust ball angle based on hit position
+                double angle = hitPos * 60; // Max 60 degrees from vertical
+                vx = ballSpeed * Math.sin(Math.toRadians(angle));
+                vy = -ballSpeed * Math.cos(Math.toRadians(angle));
+                particles.emit((int)cx, (int)cy, PADDLE_COLOR, 5);
+            } else {
+                double dot = vx * normalX + vy * normalY;
+                vx -= 2 * dot * normalX;
+                vy -= 2 * dot * normalY;
+                if (hitKind == HIT_BRICK) {
+                    hitBrick(hitRow, hitCol);
+                }
+            }
+        }
+        
+        ballX[b] = cx - r;
+        ballY[b] = cy - r;
+        ballVX[b] = vx;
+        ballVY[b] = vy;
+    }
+    
+    // Earliest brick a moving ball touches, or 2 if none; the hit cell and normal are left in
+    // the brickHit fields. Does not change any game state.
+    double findBrickHit(double cx, double cy, double dx, double dy, double r) {
+        double bestTime = 2;
+        
+        // Broad phase: only visit the cells under the ball's swept bounds for this segment
+        int firstRow = Math.max(0, bricks.rowAt(Math.min(cy, cy + dy) - r));
+        int lastRow = Math.min(bricks.rows() - 1, bricks.rowAt(Math.max(cy, cy + dy) + r));
+        int firstCol = Math.max(0, bricks.colAt(Math.min(cx, cx + dx) - r));
+        int lastCol = Math.min(bricks.cols() - 1, bricks.colAt(Math.max(cx, cx + dx) + r));
+        
+        for (int i = firstRow; i <= lastRow; i++) {
+            for (int j = bricks.nextBrick(i, firstCol, lastCol); j >= 0; j = bricks.nextBrick(i, j + 1, lastCol)) {
+                int brickX = bricks.brickX(j);
+                int brickY = bricks.brickY(i);
+                if (sweep.sweep(cx, cy, dx, dy, r, brickX, brickY,
+                                brickX + bricks.brickWidth, brickY + bricks.brickHeight)
+                        && sweep.time < bestTime) {
+                    bestTime = sweep.time;
+                    brickHitNormalX = sweep.normalX;
+                    brickHitNormalY = sweep.normalY;
+                    brickHitRow = i;
+                    brickHitCol = j;
+                }
+            }
+        }
+        return bestTime;
+    }
+    
+    // Swap-remove: order of balls does not matter
+    private void removeBall(int b) {
+        int last = --ballCount;
+        ballX[b] = ballX[last];
+        ballY[b] = ballY[last];
+        ballVX[b] = ballVX[last];
+        ballVY[b] = ballVY[last];
+        prevBallX[b] = prevBallX[last];
+        prevBallY[b] = prevBallY[last];
+    }
+    
+    private void addBall(double x, double y, double vx, double vy) {
+        if (ballCount == MAX_BALLS) {
+            return;
+        }
+        if (ballCount == ballX.length) {
+            int capacity = Math.min(MAX_BALLS, ballCount * 2);
+            ballX = Arrays.copyOf(ballX, capacity);
+            ballY = Arrays.copyOf(ballY, capacity);
+            ballVX = Arrays.copyOf(ballVX, capacity);
+            ballVY = Arrays.copyOf(ballVY, capacity);
+            prevBallX = Arrays.copyOf(prevBallX, capacity);
+            prevBallY = Arrays.copyOf(prevBallY, capacity);
+        }
+        ballX[ballCount] = x;
+        ballY[ballCount] = y;
+        prevBallX[ballCount] = x;
+        prevBallY[ballCount] = y;
+        ballVX[ballCount] = vx;
+        ballVY[ballCount] = vy;
+        ballCount++;
+    }
+    
+    // Multi-ball: every ball in play splits into three, fanned 30 degrees apart
+    void splitBalls() {
+        int count = ballCount;
+        for (int b = 0; b < count; b++) {
+            double vx = ballVX[b];
+            double vy = ballVY[b];
+            if (vx == 0 && vy == 0) {
+                continue;
+            }
+            for (int k = -1; k <= 1; k += 2) {
+                double angle = Math.toRadians(30 * k);
+                double cos = Math.cos(angle);
+                double sin = Math.sin(angle);
+                addBall(ballX[b], ballY[b], vx * cos - vy * sin, vx * sin + vy * cos);
+            }
+        }
+    }
+    
+    // Starts a stack of a timed effect lasting the given number of ticks
+    void addEffect(PowerUp.PowerUpType type, int ticks) {
+        int t = type.ordinal();
+        if (effectStacks[t] == MAX_EFFECT_STACKS) {
+            effects.cancel(effectTimers[t][0]);
+            removeEffectTimer(t, 0);
+        }
+        effectTimers[t][effectStacks[t]++] = effects.schedule(ticks, t);
+        applyEffects();
+    }
+    
+    private void effectExpired(int type, int handle) {
+        int[] timers = effectTimers[type];
+        for (int i = 0; i < effectStacks[type]; i++) {
+            if (timers[i] == handle) {
+                removeEffectTimer(type, i);
+                applyEffects();
+                return;
+            }
+        }
+    }
+    
+    private void removeEffectTimer(int type, int i) {
+        int[] timers = effectTimers[type];
+        System.arraycopy(timers, i + 1, timers, i, effectStacks[type] - i - 1);
+        effectStacks[type]--;
+    }
+    
+    private void clearEffects() {
+        effects.clear();
+        Arrays.fill(effectStacks, 0);
+    }
+    
+    // Ball speed from the active slow stacks
+    private void applyEffects() {
+        double speed = config.ballSpeed;
+        for (int i = 0; i < effectStacks[PowerUp.PowerUpType.SLOW_BALL.ordinal()]; i++) {
+            speed = Math.max(config.minBallSpeed, speed * config.slowFactor);
+        }
+        if (speed != ballSpeed) {
+            setBallSpeed(speed);
+        }
+    }
+    
+    int effectStacks(PowerUp.PowerUpType type) {
+        return effectStacks[type.ordinal()];
+    }
+    
+    // Ticks until the newest stack of an effect wears off; 0 when it is not active
+    long effectTicksLeft(PowerUp.PowerUpType type) {
+        int t = type.ordinal();
+        return effectStacks[t] == 0 ? 0 : effects.remaining(effectTimers[t][effectStacks[t] - 1]);
+    }
+    
+    // Sets the ball speed and rescales every ball in play to match
+    void setBallSpeed(double speed) {
+        ballSpeed = speed;
+        for (int b = 0; b < ballCount; b++) {
+            double currentSpeed = Math.sqrt(ballVX[b] * ballVX[b] + ballVY[b] * ballVY[b]);
+            if (currentSpeed > 0) {
+                ballVX[b] = (ballVX[b] / currentSpeed) * speed;
+                ballVY[b] = (ballVY[b] / currentSpeed) * speed;
+            }
+        }
+    }
+    
+    private void loseLife() {
+        lives--;
+        publish(GameEvent.LIFE_LOST, lives, 0, 0);
+        if (lives <= 0) {
+            gameState = GameState.GAME_OVER;
+            if (recorder != null && recorder.isRecording()) {
+                recorder.finish(this);
+            }
+            if (history != null) {
+                history.record(this);
+            }
+            publish(GameEvent.GAME_OVER, score, 0, 0);
+        }
+    }
+    
+    private void hitBrick(int row, int col) {
+        int value = bricks.get(row, col);
+        int type = BrickGenerator.typeOf(value);
+        if (type == BrickGenerator.TYPE_STEEL) {
+            particles.emit(bricks.brickX(col) + bricks.brickWidth/2,
+                           bricks.brickY(row) + bricks.brickHeight/2, Color.LIGHT_GRAY, 3);
+        } else if (type == BrickGenerator.TYPE_EXPLOSIVE) {
+            explode(row, col);
+        } else if (BrickGenerator.hitsOf(value) > 1) {
+            bricks.setBrickValue(value - BrickGenerator.HIT_STEP, row, col);
+            score += level;
+            particles.emit(bricks.brickX(col) + bricks.brickWidth/2,
+                           bricks.brickY(row) + bricks.brickHeight/2,
+                           brickColors[BrickGenerator.colorOf(value) - 1], 5);
+        } else {
+            destroyBrick(row, col);
+        }
+        
+        // Check level complete
+        if (bricks.remaining() == 0 && !config.endless) {
+            gameState = GameState.LEVEL_COMPLETE;
+            publish(GameEvent.LEVEL_COMPLETE, score, 0, 0);
+            if (pack != null) {
+                pack.prefetch(level + 1); // decoded while the player reads the banner
+            }
+        }
+    }
+    
+    private void destroyBrick(int row, int col) {
+        int brickX = bricks.brickX(col);
+        int brickY = bricks.brickY(row);
+        int value = bricks.get(row, col);
+        Color brickColor = brickColors[BrickGenerator.colorOf(value) - 1];
+        bricks.setBrickValue(0, row, col);
+        score += 10 * level;
+        publish(GameEvent.BRICK_DESTROYED, row, col, BrickGenerator.typeOf(value));
+        
+        // Particle effect
+        particles.emit(brickX + bricks.brickWidth/2, 
+                       brickY + bricks.brickHeight/2, brickColor, 15);
+        
+        // Random power-up drop (15% chance)
+        if (random.nextDouble() < config.powerUpChance) {
+            PowerUp.PowerUpType type = PowerUp.TYPES[random.nextInt(PowerUp.TYPES.length)];
+            powerUpGridStale = true;
+            powerUps.add(obtainPowerUp(brickX + bricks.brickWidth/2, 
+                                       brickY + bricks.brickHeight/2, type));
+            publish(GameEvent.POWER_UP_SPAWNED, type.ordinal(), brickX + bricks.brickWidth/2,
+                    brickY + bricks.brickHeight/2);
+        }
+    }
+    
+    // Destroys an explosive brick and every breakable neighbour, chaining through other
+    // explosives; uses an explicit stack so big chains cannot overflow the call stack
+    private void explode(int row, int col) {
+        int cols = bricks.cols();
+        int pending = 0;
+        explosions[pending++] = row * cols + col;
+        destroyBrick(row, col);
+        while (pending > 0) {
+            int cell = explosions[--pending];
+            int r = cell / cols;
+            int c = cell % cols;
+            int lastCol = Math.min(cols - 1, c + 1);
+            for (int i = Math.max(0, r - 1); i <= Math.min(bricks.rows() - 1, r + 1); i++) {
+                for (int j = bricks.nextBrick(i, Math.max(0, c - 1), lastCol); j >= 0; j = bricks.nextBrick(i, j + 1, lastCol)) {
+                    int value = bricks.get(i, j);
+                    if (!BrickGenerator.isBreakable(value)) {
+                        continue;
+                    }
+                    if (BrickGenerator.typeOf(value) == BrickGenerator.TYPE_EXPLOSIVE) {
+                        if (pending == explosions.length) {
+                            explosions = Arrays.copyOf(explosions, pending * 2);
+                        }
+                        explosions[pending++] = i * cols + j;
+                    }
+                    destroyBrick(i, j);
+                }
+            }
+        }
+    }
+    
+    private void launchBall() {
+        if (isBallResting()) {
+            double angle = -60 - random.nextInt(60); // -60 to -120 degrees
+            ballVX[0] = ballSpeed * Math.cos(Math.toRadians(angle));
+            ballVY[0] = ballSpeed * Math.sin(Math.toRadians(angle));
+            
+            // Multi-ball mode serves extra balls fanned out from the paddle
+            for (int b = 1; b < serveBalls; b++) {
+                angle = -60 - random.nextInt(60);
+                addBall(ballX[0], ballY[0], ballSpeed * Math.cos(Math.toRadians(angle)),
+                        ballSpeed * Math.sin(Math.toRadians(angle)));
+            }
+        }
+    }
+}
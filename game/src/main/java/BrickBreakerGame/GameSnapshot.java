@@ -0,0 +1,293 @@
+package BrickBreakerGame;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+// Game Snapshot Class
+// Complete game state in flat primitive arrays. A snapshot is reusable: saving into it again only
+// allocates when something outgrows its arrays. The brick map is shared with the simulation
+// copy-on-write, so keeping many snapshots (rollback, search) costs a copy only per changed map.
+class GameSnapshot {
+    static final int MAGIC = 0x42425356; // "BBSV"
+    static final int VERSION = 4;
+    
+    // Loading rejects saves past these, far beyond anything the game produces
+    private static final int MAX_CELLS = 1 << 24;
+    private static final int MAX_POWER_UPS = 1 << 16;
+    private static final int MAX_PARTICLES = 1 << 16;
+    
+    GameState gameState;
+    int level, score, lives;
+    int totalBricks;
+    long tickCount;
+    long random;
+    int playerX, paddleSpeed;
+    double ballSpeed;
+    int serveBalls;
+    
+    int ballCount;
+    double[] ballX = new double[0], ballY = new double[0];
+    double[] ballVX = new double[0], ballVY = new double[0];
+    
+    // Interpolation state, kept in memory only; loaded saves start with prev = current
+    int prevPlayerX;
+    double[] prevBallX = new double[0], prevBallY = new double[0];
+    long tickNanos; // when the tick was simulated, for render-side interpolation
+    
+    // Shared with the simulation's brick grid, never written
+    int brickRows, brickCols;
+    int brickWidth, brickHeight;
+    byte[] brickCells;
+    long[] brickMasks;
+    int brickTop;
+    double brickOriginY;
+    long brickRowsGenerated;
+    long layoutSeed;
+    boolean endless;
+    
+    int powerUpCount;
+    double[] powerUpX = new double[0], powerUpY = new double[0], powerUpVY = new double[0];
+    byte[] powerUpType = new byte[0];
+    
+    // Timed effect stacks and the ticks each has left
+    int effectCount;
+    byte[] effectType = new byte[0];
+    int[] effectTicks = new int[0];
+    
+    int particleCount;
+    double[] particleX = new double[0], particleY = new double[0];
+    double[] particleVX = new double[0], particleVY = new double[0];
+    double[] particleSize = new double[0];
+    int[] particleLife = new int[0], particleMaxLife = new int[0], particleRGB = new int[0];
+    long particleRandom;
+    
+    void ensureBalls(int n) {
+        if (ballX.length < n) {
+            int capacity = Math.max(n, ballX.length * 2);
+            ballX = new double[capacity];
+            ballY = new double[capacity];
+            ballVX = new double[capacity];
+            ballVY = new double[capacity];
+            prevBallX = new double[capacity];
+            prevBallY = new double[capacity];
+        }
+    }
+    
+    void ensurePowerUps(int n) {
+        if (powerUpX.length < n) {
+            int capacity = Math.max(n, powerUpX.length * 2);
+            powerUpX = new double[capacity];
+            powerUpY = new double[capacity];
+            powerUpVY = new double[capacity];
+            powerUpType = new byte[capacity];
+        }
+    }
+    
+    void ensureEffects(int n) {
+        if (effectType.length < n) {
+            int capacity = Math.max(n, effectType.length * 2);
+            effectType = new byte[capacity];
+            effectTicks = new int[capacity];
+        }
+    }
+    
+    void ensureParticles(int n) {
+        if (particleX.length < n) {
+            int capacity = Math.max(n, particleX.length * 2);
+            particleX = new double[capacity];
+            particleY = new double[capacity];
+            particleVX = new double[capacity];
+            particleVY = new double[capacity];
+            particleSize = new double[capacity];
+            particleLife = new int[capacity];
+            particleMaxLife = new int[capacity];
+            particleRGB = new int[capacity];
+        }
+    }
+    
+    // Writes a sibling file and moves it over the old save, so a failed write never costs the
+    // previous one
+    public void save(Path path) throws IOException {
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                write(out);
+            }
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+    
+    public static GameSnapshot load(Path path) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            return read(in);
+        }
+    }
+    
+    void write(DataOutputStream out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+        out.writeByte(gameState.ordinal());
+        out.writeInt(level);
+        out.writeInt(score);
+        out.writeInt(lives);
+        out.writeInt(totalBricks);
+        out.writeLong(tickCount);
+        out.writeLong(random);
+        out.writeInt(playerX);
+        out.writeInt(paddleSpeed);
+        out.writeDouble(ballSpeed);
+        out.writeInt(serveBalls);
+        
+        out.writeInt(ballCount);
+        for (int i = 0; i < ballCount; i++) {
+            out.writeDouble(ballX[i]);
+            out.writeDouble(ballY[i]);
+            out.writeDouble(ballVX[i]);
+            out.writeDouble(ballVY[i]);
+        }
+        
+        out.writeLong(layoutSeed);
+        out.writeBoolean(endless);
+        out.writeInt(brickRows);
+        out.writeInt(brickCols);
+        out.writeInt(brickWidth);
+        out.writeInt(brickHeight);
+        out.write(brickCells, 0, brickRows * brickCols);
+        out.writeInt(brickTop);
+        out.writeDouble(brickOriginY);
+        out.writeLong(brickRowsGenerated);
+        
+        out.writeInt(powerUpCount);
+        for (int i = 0; i < powerUpCount; i++) {
+            out.writeDouble(powerUpX[i]);
+            out.writeDouble(powerUpY[i]);
+            out.writeDouble(powerUpVY[i]);
+            out.writeByte(powerUpType[i]);
+        }
+        
+        out.writeInt(effectCount);
+        for (int i = 0; i < effectCount; i++) {
+            out.writeByte(effectType[i]);
+            out.writeInt(effectTicks[i]);
+        }
+        
+        out.writeInt(particleCount);
+        for (int i = 0; i < particleCount; i++) {
+            out.writeDouble(particleX[i]);
+            out.writeDouble(particleY[i]);
+            out.writeDouble(particleVX[i]);
+            out.writeDouble(particleVY[i]);
+            out.writeDouble(particleSize[i]);
+            out.writeInt(particleLife[i]);
+            out.writeInt(particleMaxLife[i]);
+            out.writeInt(particleRGB[i]);
+        }
+        out.writeLong(particleRandom);
+    }
+    
+    static GameSnapshot read(DataInputStream in) throws IOException {
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a saved game");
+        }
+        int version = in.readUnsignedByte();
+        if (version != VERSION) {
+            throw new IOException("Unsupported save version " + version);
+        }
+        GameSnapshot s = new GameSnapshot();
+        s.gameState = GameState.values()[checked(in.readUnsignedByte(), 0, GameState.values().length - 1)];
+        s.level = checked(in.readInt(), 1, Integer.MAX_VALUE);
+        s.score = in.readInt();
+        s.lives = checked(in.readInt(), 0, Integer.MAX_VALUE);
+        s.totalBricks = checked(in.readInt(), 0, Integer.MAX_VALUE);
+        s.tickCount = in.readLong();
+        s.random = in.readLong();
+        s.playerX = in.readInt();
+        s.paddleSpeed = in.readInt();
+        s.ballSpeed = in.readDouble();
+        s.serveBalls = checked(in.readInt(), 1, GameSimulation.MAX_BALLS);
+        
+        s.ballCount = checked(in.readInt(), 0, GameSimulation.MAX_BALLS);
+        s.ensureBalls(s.ballCount);
+        for (int i = 0; i < s.ballCount; i++) {
+            s.ballX[i] = in.readDouble();
+            s.ballY[i] = in.readDouble();
+            s.ballVX[i] = in.readDouble();
+            s.ballVY[i] = in.readDouble();
+        }
+        s.prevPlayerX = s.playerX;
+        System.arraycopy(s.ballX, 0, s.prevBallX, 0, s.ballCount);
+        System.arraycopy(s.ballY, 0, s.prevBallY, 0, s.ballCount);
+        
+        s.layoutSeed = in.readLong();
+        s.endless = in.readBoolean();
+        s.brickRows = checked(in.readInt(), 1, 0xFFFF);
+        s.brickCols = checked(in.readInt(), 1, 0xFFFF);
+        s.brickWidth = checked(in.readInt(), 1, 0xFFFF);
+        s.brickHeight = checked(in.readInt(), 1, 0xFFFF);
+        if ((long) s.brickRows * s.brickCols > MAX_CELLS) {
+            throw new IOException("Corrupt saved game");
+        }
+        s.brickCells = new byte[s.brickRows * s.brickCols];
+        in.readFully(s.brickCells);
+        for (byte value : s.brickCells) {
+            if (value != 0 && (BrickGenerator.colorOf(value) == 0 || BrickGenerator.typeOf(value) == 3)) {
+                throw new IOException("Corrupt saved game");
+            }
+        }
+        s.brickMasks = BrickGenerator.masksOf(s.brickCells, s.brickRows, s.brickCols);
+        s.brickTop = checked(in.readInt(), 0, s.brickRows - 1);
+        s.brickOriginY = in.readDouble();
+        s.brickRowsGenerated = in.readLong();
+        if (s.brickRowsGenerated < 0) {
+            throw new IOException("Corrupt saved game");
+        }
+        
+        s.powerUpCount = checked(in.readInt(), 0, MAX_POWER_UPS);
+        s.ensurePowerUps(s.powerUpCount);
+        for (int i = 0; i < s.powerUpCount; i++) {
+            s.powerUpX[i] = in.readDouble();
+            s.powerUpY[i] = in.readDouble();
+            s.powerUpVY[i] = in.readDouble();
+            s.powerUpType[i] = (byte) checked(in.readByte(), 0, PowerUp.TYPES.length - 1);
+        }
+        
+        s.effectCount = checked(in.readInt(), 0, PowerUp.TYPES.length * GameSimulation.MAX_EFFECT_STACKS);
+        s.ensureEffects(s.effectCount);
+        for (int i = 0; i < s.effectCount; i++) {
+            s.effectType[i] = (byte) checked(in.readByte(), 0, PowerUp.TYPES.length - 1);
+            s.effectTicks[i] = checked(in.readInt(), 1, Integer.MAX_VALUE);
+        }
+        
+        s.particleCount = checked(in.readInt(), 0, MAX_PARTICLES);
+        s.ensureParticles(s.particleCount);
+        for (int i = 0; i < s.particleCount; i++) {
+            s.particleX[i] = in.readDouble();
+            s.particleY[i] = in.readDouble();
+            s.particleVX[i] = in.readDouble();
+            s.particleVY[i] = in.readDouble();
+            s.particleSize[i] = in.readDouble();
+            s.particleLife[i] = in.readInt();
+            s.particleMaxLife[i] = checked(in.readInt(), 1, Integer.MAX_VALUE);
+            s.particleRGB[i] = in.readInt();
+            checked(s.particleLife[i], 0, s.particleMaxLife[i]);
+        }
+        s.particleRandom = in.readLong();
+        return s;
+    }
+    
+    // Rejects values a damaged file could hold that the game would trip over later
+    private static int checked(int value, int min, int max) throws IOException {
+        if (value < min || value > max) {
+            throw new IOException("Corrupt saved game");
+        }
+        return value;
+    }
+}
@@ -0,0 +1,4 @@
+package BrickBreakerGame;
+
+// Game States
+public enum GameState { MENU, PLAYING, PAUSED, GAME_OVER, LEVEL_COMPLETE }
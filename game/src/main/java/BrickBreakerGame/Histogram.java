@@ -0,0 +1,101 @@
+package BrickBreakerGame;
+
+import java.util.Arrays;
+
+// Histogram Class
+// HDR-style log-linear histogram: 32 linear sub-buckets per power of two, about 3% precision
+// over the full long range, fixed memory and no allocation on record. Every method holds the
+// histogram's lock, so one thread may record (the tick thread, the painter) while others read
+// (the overlay, the export at exit); hold it across several reads that must agree.
+class Histogram {
+    private static final int SUB_BITS = 5;
+    private static final int SUB_COUNT = 1 << SUB_BITS;
+    
+    private final long[] counts = new long[(64 - SUB_BITS) * SUB_COUNT];
+    private long total = 0;
+    private long sum = 0;
+    private long min = Long.MAX_VALUE;
+    private long max = 0;
+    
+    public synchronized void record(long value) {
+        if (value < 0) {
+            value = 0;
+        }
+        counts[indexOf(value)]++;
+        total++;
+        sum += value;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+    
+    private static int indexOf(long value) {
+        if (value < SUB_COUNT) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BITS;
+        return (shift + 1) * SUB_COUNT + (int) (value >>> shift) - SUB_COUNT;
+    }
+    
+    // Largest value that falls into the same bucket
+    private static long highestOf(int index) {
+        if (index < SUB_COUNT) {
+            return index;
+        }
+        int shift = index / SUB_COUNT - 1;
+        long lowest = (long) (SUB_COUNT + index % SUB_COUNT) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+    
+    public synchronized long count() {
+        return total;
+    }
+    
+    public synchronized long max() {
+        return max;
+    }
+    
+    public synchronized long min() {
+        return total == 0 ? 0 : min;
+    }
+    
+    public synchronized double mean() {
+        return total == 0 ? 0 : sum / (double) total;
+    }
+    
+    // Value at the given percentile (0 to 100), accurate to the bucket width
+    public synchronized long percentile(double p) {
+        if (total == 0) {
+            return 0;
+        }
+        long target = Math.max(1, (long) Math.ceil(total * p / 100.0));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= target) {
+                return Math.min(highestOf(i), max);
+            }
+        }
+        return max;
+    }
+    
+    // Folds another histogram's samples into this one
+    public synchronized void add(Histogram other) {
+        synchronized (other) {
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] += other.counts[i];
+            }
+            total += other.total;
+            sum += other.sum;
+            min = Math.min(min, other.min);
+            max = Math.max(max, other.max);
+        }
+    }
+    
+    public synchronized void reset() {
+        Arrays.fill(counts, 0);
+        total = 0;
+        sum = 0;
+        min = Long.MAX_VALUE;
+        max = 0;
+    }
+}
@@ -0,0 +1,45 @@
+package BrickBreakerGame;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// Input Queue Class
+// Single-producer single-consumer ring of key events (press = code, release = ~code). Both ends
+// are wait-free: the producer never blocks and drops the event if the ring is full.
+class InputQueue {
+    static final int DEFAULT_CAPACITY = 256;
+    
+    private final int[] events;
+    private final int mask;
+    private final AtomicLong head = new AtomicLong(); // next slot to read, written by the consumer
+    private final AtomicLong tail = new AtomicLong(); // next slot to write, written by the producer
+    
+    public InputQueue(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1) << 1);
+        events = new int[size];
+        mask = size - 1;
+    }
+    
+    // Producer side; returns false if the ring was full
+    public boolean offer(int event) {
+        long t = tail.get();
+        if (t - head.get() == events.length) {
+            return false;
+        }
+        events[(int) t & mask] = event;
+        tail.lazySet(t + 1); // publishes the slot write
+        return true;
+    }
+    
+    // Consumer side
+    public boolean isEmpty() {
+        return head.get() == tail.get();
+    }
+    
+    // Consumer side; only valid when not empty
+    public int poll() {
+        long h = head.get();
+        int event = events[(int) h & mask];
+        head.lazySet(h + 1);
+        return event;
+    }
+}
@@ -0,0 +1,51 @@
+package BrickBreakerGame;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// JSON Lines Sink Class
+// One JSON object per event, for ad hoc analysis with line-oriented tools
+class JsonLinesSink implements EventSink {
+    private final Writer out;
+    private final StringBuilder line = new StringBuilder(128);
+    
+    public JsonLinesSink(Writer out) {
+        this.out = out;
+    }
+    
+    public static JsonLinesSink open(Path path) throws IOException {
+        return new JsonLinesSink(Files.newBufferedWriter(path, StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+                                                         StandardOpenOption.APPEND));
+    }
+    
+    @Override
+    public void write(EventBatch batch) throws IOException {
+        for (int i = 0; i < batch.size; i++) {
+            GameEvent type = batch.type(i);
+            line.setLength(0);
+            line.append("{\"seq\":").append(batch.firstSequence + i)
+                .append(",\"tick\":").append(batch.ticks[i])
+                .append(",\"event\":\"").append(type.key)
+                .append("\",\"level\":").append(batch.levels[i]);
+            for (int f = 0; f < type.fields.length; f++) {
+                line.append(",\"").append(type.fields[f]).append("\":").append(batch.field(i, f));
+            }
+            line.append("}\n");
+            out.append(line);
+        }
+    }
+    
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+    
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+}
@@ -0,0 +1,76 @@
+package BrickBreakerGame;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+// Level Data Class
+// One decoded level: grid size, brick size and one cell byte per brick (BrickGenerator encoding)
+public class LevelData {
+    final int rows;
+    final int cols;
+    final int brickWidth;
+    final int brickHeight;
+    final byte[] cells; // shared by every game playing the level; never written
+    
+    LevelData(int rows, int cols, int brickWidth, int brickHeight, byte[] cells) {
+        this.rows = rows;
+        this.cols = cols;
+        this.brickWidth = brickWidth;
+        this.brickHeight = brickHeight;
+        this.cells = cells;
+    }
+    
+    // Brick size as the game sizes its own levels, filling the 540 x 150 brick area
+    static LevelData fitted(int rows, int cols, byte[] cells) {
+        return new LevelData(rows, cols, Math.max(1, 540 / cols), Math.max(1, 150 / rows), cells);
+    }
+    
+    // Parses a text layout: one line per row, whitespace-separated cells. "." is empty, a digit
+    // 1-7 is a brick of that colour, "3:2" a colour 3 brick taking 2 hits (up to 4), "S" steel
+    // and "X" explosive.
+    static LevelData parse(List<String> lines) throws IOException {
+        ArrayList<String[]> rows = new ArrayList<>();
+        int cols = 0;
+        for (String line : lines) {
+            String trimmed = line.trim();
+            if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+                continue;
+            }
+            String[] cells = trimmed.split("\\s+");
+            rows.add(cells);
+            cols = Math.max(cols, cells.length);
+        }
+        if (rows.isEmpty()) {
+            throw new IOException("Empty level");
+        }
+        byte[] cells = new byte[rows.size() * cols];
+        for (int i = 0; i < rows.size(); i++) {
+            String[] row = rows.get(i);
+            for (int j = 0; j < row.length; j++) {
+                cells[i * cols + j] = (byte) parseCell(row[j], i + 1);
+            }
+        }
+        return fitted(rows.size(), cols, cells);
+    }
+    
+    private static int parseCell(String cell, int line) throws IOException {
+        switch (cell) {
+            case ".": return 0;
+            case "S": return BrickGenerator.brick(7, 1, BrickGenerator.TYPE_STEEL);
+            case "X": return BrickGenerator.brick(1, 1, BrickGenerator.TYPE_EXPLOSIVE);
+            default:
+                try {
+                    int colon = cell.indexOf(':');
+                    int color = Integer.parseInt(colon < 0 ? cell : cell.substring(0, colon));
+                    int hits = colon < 0 ? 1 : Integer.parseInt(cell.substring(colon + 1));
+                    if (color >= 1 && color <= 7 && hits >= 1 && hits <= 4) {
+                        return BrickGenerator.brick(color, hits, BrickGenerator.TYPE_NORMAL);
+                    }
+                } catch (NumberFormatException e) {
+                    // reported below
+                }
+                throw new IOException("Bad cell \"" + cell + "\" in row " + line);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package BrickBreakerGame;
+
+// Level Generator Class
+// Seeded, stateless brick layouts: any row of any level is a pure function of the seed, so
+// levels need no storage and endless mode can produce rows on demand in constant time
+public class LevelGenerator {
+    private static final double NOISE_SCALE = 0.3;
+    
+    private final long seed;
+    
+    public LevelGenerator(long seed) {
+        this.seed = seed;
+    }
+    
+    // Writes one row of bricks; row numbers keep counting up in endless mode
+    public void fillRow(int level, long row, int cols, byte[] out, int offset) {
+        long levelSeed = GameRandom.mix(seed + level * 0x632BE59BD9B4E019L);
+        // Fewer gaps as levels go on
+        double threshold = Math.max(0.15, 0.4 - 0.02 * level);
+        double steelChance = level < 3 ? 0 : Math.min(0.06, 0.01 * (level - 2));
+        double explosiveChance = level < 2 ? 0 : 0.04;
+        double toughChance = Math.min(0.4, 0.06 * level);
+        int maxHits = Math.min(4, 2 + level / 4);
+        for (int j = 0; j < cols; j++) {
+            // Mirror the pattern so layouts are left-right symmetric
+            int c = Math.min(j, cols - 1 - j);
+            double density = noise(levelSeed, c * NOISE_SCALE, row * NOISE_SCALE);
+            if (density < threshold) {
+                out[offset + j] = 0;
+                continue;
+            }
+            long h = GameRandom.mix(levelSeed ^ (row * 0x9E3779B97F4A7C15L + c));
+            double roll = (h >>> 11) * 0x1.0p-53;
+            int color = 1 + (int) Math.floorMod(row + (long) (density * 3), 7L);
+            int value;
+            if (roll < steelChance) {
+                value = BrickGenerator.brick(7, 1, BrickGenerator.TYPE_STEEL);
+            } else if (roll < steelChance + explosiveChance) {
+                value = BrickGenerator.brick(1, 1, BrickGenerator.TYPE_EXPLOSIVE);
+            } else if (roll < steelChance + explosiveChance + toughChance) {
+                int hits = 2 + (int) ((h & 0xFF) * (maxHits - 1) >> 8);
+                value = BrickGenerator.brick(color, hits, BrickGenerator.TYPE_NORMAL);
+            } else {
+                value = BrickGenerator.brick(color, 1, BrickGenerator.TYPE_NORMAL);
+            }
+            out[offset + j] = (byte) value;
+        }
+    }
+    
+    // Smooth value noise in [0, 1): hashed lattice values blended with a smoothstep
+    private static double noise(long seed, double x, double y) {
+        long x0 = (long) Math.floor(x);
+        long y0 = (long) Math.floor(y);
+        double fx = x - x0;
+        double fy = y - y0;
+        fx = fx * fx * (3 - 2 * fx);
+        fy = fy * fy * (3 - 2 * fy);
+        double a = lattice(seed, x0, y0);
+        double b = lattice(seed, x0 + 1, y0);
+        double c = lattice(seed, x0, y0 + 1);
+        double d = lattice(seed, x0 + 1, y0 + 1);
+        double top = a + (b - a) * fx;
+        double bottom = c + (d - c) * fx;
+        return top + (bottom - top) * fy;
+    }
+    
+    private static double lattice(long seed, long x, long y) {
+        return (GameRandom.mix(seed ^ (x * 0xD6E8FEB86659FD93L + y * 0x9E3779B97F4A7C15L)) >>> 11) * 0x1.0p-53;
+    }
+}
@@ -0,0 +1,228 @@
+package BrickBreakerGame;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+// Level Pack Class
+// Designed levels read from a memory-mapped pack file. Opening maps the file and checks the
+// header, nothing more; a level is decoded only when it is played (or prefetched while the
+// previous one shows LEVEL COMPLETE) and kept in an LRU cache bounded by cell bytes, so packs of
+// thousands of large levels open instantly and never sit in the heap whole. File layout:
+//   header: magic, version, level count, reserved
+//   offset table: level count + 1 longs, the start of each record and the end of the last
+//   record: rows, cols, brick width, brick height (unsigned shorts), then the cells row by row
+//           as runs: varint run length, cell value
+// Thread-safe: the simulation and background prefetches share one pack.
+public class LevelPack {
+    static final int MAGIC = 0x42424C50; // "BBLP"
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 16;
+    static final int RECORD_HEADER_SIZE = 8;
+    static final long DEFAULT_CACHE_BYTES = 16L << 20;
+    
+    private final Path path;
+    private final MappedByteBuffer map;
+    private final int count;
+    private final long cacheBytes;
+    
+    // Decoded levels, least recently used first
+    private final LinkedHashMap<Integer, LevelData> cache = new LinkedHashMap<>(16, 0.75f, true);
+    private final HashSet<Integer> decoding = new HashSet<>();
+    private long cachedBytes = 0;
+    private boolean reported = false;
+    long hits, misses, prefetches;
+    
+    private static LevelPack shared;
+    private static boolean sharedOpened;
+    
+    public LevelPack(Path path, long cacheBytes) throws IOException {
+        this.path = path;
+        this.cacheBytes = cacheBytes;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Level pack too large: " + path);
+            }
+            if (size < HEADER_SIZE) {
+                throw new IOException("Not a level pack: " + path);
+            }
+            map = channel.map(FileChannel.MapMode.READ_ONLY, 0, size); // stays valid once closed
+        }
+        if (map.getInt(0) != MAGIC) {
+            throw new IOException("Not a level pack: " + path);
+        }
+        if (map.getInt(4) != VERSION) {
+            throw new IOException("Unsupported level pack version " + map.getInt(4));
+        }
+        count = map.getInt(8);
+        if (count < 0 || HEADER_SIZE + (count + 1L) * 8 > map.capacity()) {
+            throw new IOException("Corrupt level pack: " + path);
+        }
+    }
+    
+    // The pack named by -Dbrickbreaker.levels, opened once and shared by every game in the
+    // process; null when the property is unset or the pack cannot be opened
+    public static synchronized LevelPack fromSystemProperties() {
+        if (!sharedOpened) {
+            sharedOpened = true;
+            String file = System.getProperty("brickbreaker.levels");
+            if (file != null) {
+                try {
+                    shared = new LevelPack(Paths.get(file), DEFAULT_CACHE_BYTES);
+                } catch (IOException e) {
+                    System.err.println("Could not open level pack " + file + ": " + e.getMessage());
+                }
+            }
+        }
+        return shared;
+    }
+    
+    public int size() {
+        return count;
+    }
+    
+    // Level numbers start at 1, as in the game
+    public boolean has(int level) {
+        return level >= 1 && level <= count;
+    }
+    
+    // The level, decoded now unless cached or already being decoded by a prefetch
+    public LevelData level(int level) throws IOException {
+        if (!has(level)) {
+            throw new IOException("No level " + level + " in " + path);
+        }
+        synchronized (this) {
+            while (decoding.contains(level)) {
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+            LevelData cached = cache.get(level);
+            if (cached != null) {
+                hits++;
+                return cached;
+            }
+            misses++;
+            decoding.add(level);
+        }
+        LevelData decoded = null;
+        try {
+            decoded = decode(level);
+            return decoded;
+        } finally {
+            synchronized (this) {
+                decoding.remove(level);
+                if (decoded != null) {
+                    cache(level, decoded);
+                }
+                notifyAll();
+            }
+        }
+    }
+    
+    // For the simulation: the level, or null (reported once) if it is missing or corrupt
+    public LevelData levelOrNull(int level) {
+        if (!has(level)) {
+            return null;
+        }
+        try {
+            return level(level);
+        } catch (IOException e) {
+            synchronized (this) {
+                if (!reported) {
+                    reported = true;
+                    System.err.println("Could not read level pack " + path + ": " + e.getMessage());
+                }
+            }
+            return null;
+        }
+    }
+    
+    // Starts decoding a level in the background unless it is cached or on its way
+    public void prefetch(int level) {
+        if (!has(level)) {
+            return;
+        }
+        synchronized (this) {
+            if (cache.containsKey(level) || decoding.contains(level)) {
+                return;
+            }
+            prefetches++;
+        }
+        ForkJoinPool.commonPool().execute(() -> levelOrNull(level));
+    }
+    
+    private void cache(int level, LevelData data) {
+        cache.put(level, data);
+        cachedBytes += data.cells.length;
+        // Evict least recently used levels until under budget, always keeping the newest
+        Iterator<Map.Entry<Integer, LevelData>> it = cache.entrySet().iterator();
+        while (cachedBytes > cacheBytes && cache.size() > 1) {
+            LevelData evicted = it.next().getValue();
+            it.remove();
+            cachedBytes -= evicted.cells.length;
+        }
+    }
+    
+    // Copies a record out through its own view of the map, so concurrent decodes never disturb
+    // each other's position, then expands the runs from the copy
+    private LevelData decode(int level) throws IOException {
+        long start = map.getLong(HEADER_SIZE + (level - 1) * 8);
+        long end = map.getLong(HEADER_SIZE + level * 8);
+        if (start < HEADER_SIZE || end > map.capacity() || end - start < RECORD_HEADER_SIZE) {
+            throw new IOException("Corrupt level " + level);
+        }
+        int pos = (int) start;
+        int rows = map.getShort(pos) & 0xFFFF;
+        int cols = map.getShort(pos + 2) & 0xFFFF;
+        int brickWidth = map.getShort(pos + 4) & 0xFFFF;
+        int brickHeight = map.getShort(pos + 6) & 0xFFFF;
+        if (rows == 0 || cols == 0 || brickWidth == 0 || brickHeight == 0) {
+            throw new IOException("Corrupt level " + level);
+        }
+        byte[] record = new byte[(int) (end - start) - RECORD_HEADER_SIZE];
+        ByteBuffer view = map.duplicate();
+        view.position(pos + RECORD_HEADER_SIZE);
+        view.get(record);
+        byte[] cells = new byte[rows * cols];
+        int filled = 0;
+        pos = 0;
+        while (filled < cells.length) {
+            int run = 0;
+            int shift = 0;
+            int b;
+            do {
+                if (pos >= record.length || shift > 28) {
+                    throw new IOException("Corrupt level " + level);
+                }
+                b = record[pos++];
+                run |= (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            if (pos >= record.length || run <= 0 || run > cells.length - filled) {
+                throw new IOException("Corrupt level " + level);
+            }
+            byte value = record[pos++];
+            if (value != 0 && (BrickGenerator.colorOf(value) == 0 || BrickGenerator.typeOf(value) == 3)) {
+                throw new IOException("Corrupt level " + level + ": bad brick " + value);
+            }
+            Arrays.fill(cells, filled, filled + run, value);
+            filled += run;
+        }
+        return new LevelData(rows, cols, brickWidth, brickHeight, cells);
+    }
+}
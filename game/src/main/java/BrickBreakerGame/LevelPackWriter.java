@@ -0,0 +1,62 @@
+package BrickBreakerGame;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+
+// Level Pack Writer Class
+// Builds a level pack: records are encoded as levels are added and written out with the offset
+// table on finish
+public class LevelPackWriter {
+    private final ByteArrayOutputStream records = new ByteArrayOutputStream();
+    private final ArrayList<Long> starts = new ArrayList<>();
+    
+    public void add(LevelData level) {
+        if (level.rows > 0xFFFF || level.cols > 0xFFFF || level.brickWidth > 0xFFFF || level.brickHeight > 0xFFFF) {
+            throw new IllegalArgumentException("Level too large");
+        }
+        starts.add((long) records.size());
+        writeShort(level.rows);
+        writeShort(level.cols);
+        writeShort(level.brickWidth);
+        writeShort(level.brickHeight);
+        byte[] cells = level.cells;
+        for (int i = 0; i < cells.length; ) {
+            int run = 1;
+            while (i + run < cells.length && cells[i + run] == cells[i]) {
+                run++;
+            }
+            ReplayRecorder.writeVarLong(records, run);
+            records.write(cells[i]);
+            i += run;
+        }
+    }
+    
+    private void writeShort(int value) {
+        records.write(value >>> 8);
+        records.write(value);
+    }
+    
+    public int size() {
+        return starts.size();
+    }
+    
+    public void finish(Path path) throws IOException {
+        long base = LevelPack.HEADER_SIZE + (starts.size() + 1L) * 8;
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)))) {
+            out.writeInt(LevelPack.MAGIC);
+            out.writeInt(LevelPack.VERSION);
+            out.writeInt(starts.size());
+            out.writeInt(0);
+            for (long start : starts) {
+                out.writeLong(base + start);
+            }
+            out.writeLong(base + records.size());
+            records.writeTo(out);
+        }
+    }
+}
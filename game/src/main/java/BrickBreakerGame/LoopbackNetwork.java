@@ -0,0 +1,109 @@
+package BrickBreakerGame;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+
+// Loopback Network Class
+// In-process datagram network for tests and benchmarks. Packets are copied on send into the
+// receiver's inbox and never reordered; a seeded fraction of them can be dropped to exercise
+// loss handling. Not thread-safe: drive the server and all clients from one thread.
+class LoopbackNetwork {
+    private final HashMap<SocketAddress, Endpoint> endpoints = new HashMap<>();
+    private final double lossRate;
+    private final GameRandom random;
+    private int nextPort = 1;
+    long delivered = 0;
+    long dropped = 0;
+
+    public LoopbackNetwork(double lossRate, long seed) {
+        this.lossRate = lossRate;
+        random = new GameRandom(seed);
+    }
+
+    public Endpoint open() {
+        Endpoint endpoint = new Endpoint(new InetSocketAddress(InetAddress.getLoopbackAddress(), nextPort++));
+        endpoints.put(endpoint.address, endpoint);
+        return endpoint;
+    }
+
+    // One attached socket; the inbox is a ring of reused packet buffers that grows when full
+    class Endpoint implements DatagramTransport {
+        final SocketAddress address;
+        private byte[][] packets = new byte[8][];
+        private int[] lengths = new int[8];
+        private SocketAddress[] senders = new SocketAddress[8];
+        private int head = 0;
+        private int count = 0;
+
+        Endpoint(SocketAddress address) {
+            this.address = address;
+        }
+
+        @Override
+        public boolean send(ByteBuffer packet, SocketAddress to) {
+            Endpoint target = endpoints.get(to);
+            int length = packet.remaining();
+            if (target == null || (lossRate > 0 && random.nextDouble() < lossRate)) {
+                packet.position(packet.limit()); // lost on the way, as far as the sender can tell
+                dropped++;
+                return true;
+            }
+            target.deliver(packet, length, address);
+            delivered++;
+            return true;
+        }
+
+        private void deliver(ByteBuffer packet, int length, SocketAddress from) {
+            if (count == packets.length) {
+                grow();
+            }
+            int i = (head + count) & (packets.length - 1);
+            if (packets[i] == null || packets[i].length < length) {
+                packets[i] = new byte[Math.max(length, VersusServer.MAX_PACKET)];
+            }
+            packet.get(packets[i], 0, length);
+            lengths[i] = length;
+            senders[i] = from;
+            count++;
+        }
+
+        private void grow() {
+            int capacity = packets.length * 2;
+            byte[][] p = new byte[capacity][];
+            int[] l = new int[capacity];
+            SocketAddress[] s = new SocketAddress[capacity];
+            for (int k = 0; k < count; k++) {
+                int i = (head + k) & (packets.length - 1);
+                p[k] = packets[i];
+                l[k] = lengths[i];
+                s[k] = senders[i];
+            }
+            packets = p;
+            lengths = l;
+            senders = s;
+            head = 0;
+        }
+
+        @Override
+        public SocketAddress receive(ByteBuffer packet) {
+            if (count == 0) {
+                return null;
+            }
+            int length = Math.min(lengths[head], packet.remaining()); // truncated like a real socket
+            packet.put(packets[head], 0, length);
+            SocketAddress from = senders[head];
+            senders[head] = null;
+            head = (head + 1) & (packets.length - 1);
+            count--;
+            return from;
+        }
+
+        @Override
+        public void close() {
+            endpoints.remove(address);
+        }
+    }
+}
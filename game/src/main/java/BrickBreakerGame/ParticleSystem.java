@@ -0,0 +1,268 @@
+package BrickBreakerGame;
+
+import java.awt.*;
+import java.util.Arrays;
+import java.util.Random;
+
+// Particle System Class
+// Fixed-capacity pool of particles in parallel arrays; nothing is allocated per spark
+public class ParticleSystem {
+    private static final double GRAVITY = 0.3;
+    private static final int ALPHA_LEVELS = 64;
+    
+    // Live particles occupy a ring of slots from head onwards, oldest first
+    private final int capacity;
+    private final double[] x, y;
+    private final double[] vx, vy;
+    private final double[] size;
+    private final int[] life;
+    private final int[] maxLife;
+    private final int[] color;
+    private int head = 0;
+    private int count = 0;
+    
+    private final GameRandom random;
+    
+    // Live slots filed by position for clipped draws, rebuilt on the first draw after a change
+    private final SpatialGrid grid = new SpatialGrid(GameSimulation.WIDTH, GameSimulation.HEIGHT, 32, 3);
+    private boolean gridStale = true;
+    
+    // Colours seen so far, each with a precomputed fade-out ramp
+    private Color[] palette = new Color[16];
+    private Color[][] ramps = new Color[16][];
+    private int paletteSize = 0;
+    
+    public ParticleSystem(int capacity) {
+        this(capacity, new Random().nextLong());
+    }
+    
+    public ParticleSystem(int capacity, long seed) {
+        this.capacity = capacity;
+        this.random = new GameRandom(seed);
+        x = new double[capacity];
+        y = new double[capacity];
+        vx = new double[capacity];
+        vy = new double[capacity];
+        size = new double[capacity];
+        life = new int[capacity];
+        maxLife = new int[capacity];
+        color = new int[capacity];
+    }
+    
+    public int size() {
+        return count;
+    }
+    
+    public int capacity() {
+        return capacity;
+    }
+    
+    public void clear() {
+        head = 0;
+        count = 0;
+        gridStale = true;
+    }
+    
+    // Copies the live particles (oldest first) and the random stream into a snapshot
+    public void saveTo(GameSnapshot s) {
+        s.ensureParticles(count);
+        s.particleCount = count;
+        for (int i = 0; i < count; i++) {
+            int p = slot(i);
+            s.particleX[i] = x[p];
+            s.particleY[i] = y[p];
+            s.particleVX[i] = vx[p];
+            s.particleVY[i] = vy[p];
+            s.particleSize[i] = size[p];
+            s.particleLife[i] = life[p];
+            s.particleMaxLife[i] = maxLife[p];
+            s.particleRGB[i] = palette[color[p]].getRGB();
+        }
+        s.particleRandom = random.getState();
+    }
+    
+    // Restores the newest particles that fit into this system's capacity
+    public void restoreFrom(GameSnapshot s) {
+        head = 0;
+        count = Math.min(s.particleCount, capacity);
+        int skip = s.particleCount - count;
+        for (int i = 0; i < count; i++) {
+            int k = skip + i;
+            x[i] = s.particleX[k];
+            y[i] = s.particleY[k];
+            vx[i] = s.particleVX[k];
+            vy[i] = s.particleVY[k];
+            size[i] = s.particleSize[k];
+            life[i] = s.particleLife[k];
+            maxLife[i] = s.particleMaxLife[k];
+            color[i] = colorIndex(s.particleRGB[k]);
+        }
+        random.setState(s.particleRandom);
+        gridStale = true;
+    }
+    
+    private int slot(int i) {
+        int p = head + i;
+        return p >= capacity ? p - capacity : p;
+    }
+    
+    // Spawns a burst; when the pool is full the oldest particles make room
+    public void emit(int px, int py, Color c, int n) {
+        if (capacity == 0) {
+            return;
+        }
+        int ci = colorIndex(c);
+        gridStale = true;
+        for (int k = 0; k < n; k++) {
+            if (count == capacity) {
+                head = slot(1);
+                count--;
+            }
+            int p = slot(count++);
+            x[p] = px;
+            y[p] = py;
+            
+            double angle = random.nextDouble() * Math.PI * 2;
+            double speed = 2 + random.nextDouble() * 3;
+            vx[p] = Math.cos(angle) * speed;
+            vy[p] = Math.sin(angle) * speed;
+            
+            maxLife[p] = 30 + random.nextInt(20);
+            life[p] = maxLife[p];
+            size[p] = 3 + random.nextDouble() * 3;
+            color[p] = ci;
+        }
+    }
+    
+    // Moves every particle and compacts the survivors in place, keeping them oldest first
+    public void update() {
+        int w = 0;
+        for (int i = 0; i < count; i++) {
+            int p = slot(i);
+            x[p] += vx[p];
+            y[p] += vy[p];
+            vy[p] += GRAVITY;
+            if (--life[p] > 0) {
+                if (w != i) {
+                    int q = slot(w);
+                    x[q] = x[p];
+                    y[q] = y[p];
+                    vx[q] = vx[p];
+                    vy[q] = vy[p];
+                    size[q] = size[p];
+                    life[q] = life[p];
+                    maxLife[q] = maxLife[p];
+                    color[q] = color[p];
+                }
+                w++;
+            }
+        }
+        count = w;
+        gridStale = true;
+    }
+    
+    // Faded-out particles and ones outside the clip are skipped. A clip much smaller than the
+    // field (a dirty-region repaint) only looks at the particles filed under it.
+    public void draw(Graphics2D g) {
+        draw(g, Integer.MAX_VALUE, 1);
+    }
+    
+    // Reduced drawing for low quality: only the newest max particles, and of those only the ones
+    // in every stride-th slot. Slots are fixed for a particle's life, so the same ones stay shown.
+    public void draw(Graphics2D g, int max, int stride) {
+        int oldest = Math.max(0, count - max);
+        Rectangle clip = g.getClipBounds();
+        if (clip == null) {
+            clip = new Rectangle(0, 0, GameSimulation.WIDTH, GameSimulation.HEIGHT);
+        }
+        int x0 = clip.x, y0 = clip.y;
+        int x1 = clip.x + clip.width, y1 = clip.y + clip.height;
+        if ((long) clip.width * clip.height * 4 > (long) GameSimulation.WIDTH * GameSimulation.HEIGHT) {
+            for (int i = oldest; i < count; i++) {
+                int p = slot(i);
+                if (p % stride == 0) {
+                    drawParticle(g, p, x0, y0, x1, y1);
+                }
+            }
+            return;
+        }
+        if (gridStale) {
+            grid.clear();
+            for (int i = 0; i < count; i++) {
+                int p = slot(i);
+                grid.add(p, x[p] + size[p] / 2, y[p] + size[p] / 2);
+            }
+            gridStale = false;
+        }
+        // Oldest first, as in the full draw, so overlapping colours blend the same way
+        int n = grid.query(x0, y0, x1, y1);
+        int[] found = grid.results;
+        Arrays.sort(found, 0, n);
+        int wrap = 0;
+        while (wrap < n && found[wrap] < head) {
+            wrap++;
+        }
+        for (int k = wrap; k < n; k++) {
+            int p = found[k];
+            if (p % stride == 0 && p - head >= oldest) {
+                drawParticle(g, p, x0, y0, x1, y1);
+            }
+        }
+        for (int k = 0; k < wrap; k++) {
+            int p = found[k];
+            if (p % stride == 0 && p + capacity - head >= oldest) {
+                drawParticle(g, p, x0, y0, x1, y1);
+            }
+        }
+    }
+    
+    // Adds the box of every particle that is still visible
+    public void addBounds(DirtyRegion region) {
+        for (int i = 0; i < count; i++) {
+            int p = slot(i);
+            if (life[p] * (ALPHA_LEVELS - 1) / maxLife[p] > 0) {
+                region.add((int) x[p], (int) y[p], (int) size[p], (int) size[p]);
+            }
+        }
+    }
+    
+    private void drawParticle(Graphics2D g, int p, int x0, int y0, int x1, int y1) {
+        int level = life[p] * (ALPHA_LEVELS - 1) / maxLife[p];
+        int px = (int) x[p];
+        int py = (int) y[p];
+        int s = (int) size[p];
+        if (level <= 0 || px + s < x0 || py + s < y0 || px > x1 || py > y1) {
+            return;
+        }
+        g.setColor(ramps[color[p]][Math.min(ALPHA_LEVELS - 1, level)]);
+        g.fillOval(px, py, s, s);
+    }
+    
+    private int colorIndex(int rgb) {
+        for (int i = 0; i < paletteSize; i++) {
+            if (palette[i].getRGB() == rgb) {
+                return i;
+            }
+        }
+        return colorIndex(new Color(rgb, true));
+    }
+    
+    private int colorIndex(Color c) {
+        for (int i = 0; i < paletteSize; i++) {
+            if (palette[i].equals(c)) {
+                return i;
+            }
+        }
+        if (paletteSize == palette.length) {
+            palette = Arrays.copyOf(palette, paletteSize * 2);
+            ramps = Arrays.copyOf(ramps, paletteSize * 2);
+        }
+        Color[] ramp = new Color[ALPHA_LEVELS];
+        for (int a = 0; a < ALPHA_LEVELS; a++) {
+            ramp[a] = new Color(c.getRed(), c.getGreen(), c.getBlue(), a * 255 / (ALPHA_LEVELS - 1));
+        }
+        palette[paletteSize] = c;
+        ramps[paletteSize] = ramp;
+        return paletteSize++;
+    }
+}
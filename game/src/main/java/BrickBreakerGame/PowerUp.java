@@ -0,0 +1,64 @@
+package BrickBreakerGame;
+
+import java.awt.*;
+
+// PowerUp Class
+public class PowerUp {
+    double x, y;
+    double vy = 2;
+    Color color;
+    PowerUpType type;
+    
+    enum PowerUpType {
+        EXTRA_LIFE(new Color(231, 76, 60), "♥"),
+        SCORE_BOOST(new Color(241, 196, 15), "★"),
+        SLOW_BALL(new Color(52, 152, 219), "◐"),
+        MULTI_BALL(new Color(155, 89, 182), "●");
+        
+        Color color;
+        String symbol;
+        PowerUpType(Color c, String symbol) { this.color = c; this.symbol = symbol; }
+    }
+    
+    static final PowerUpType[] TYPES = PowerUpType.values();
+    
+    public PowerUp(int x, int y, PowerUpType type) {
+        reset(x, y, type);
+    }
+    
+    // Reuses a pooled power-up as a fresh drop
+    PowerUp reset(int x, int y, PowerUpType type) {
+        this.x = x;
+        this.y = y;
+        this.vy = 2;
+        this.type = type;
+        this.color = type.color;
+        return this;
+    }
+    
+    public void update() {
+        y += vy;
+    }
+    
+    public void activate(GameSimulation game) {
+        game.publish(GameEvent.POWER_UP_COLLECTED, type.ordinal(), (int) x, (int) y);
+        switch (type) {
+            case EXTRA_LIFE:
+                game.lives += game.config.extraLives;
+                break;
+            case SCORE_BOOST:
+                game.score += game.config.scoreBoost * game.level;
+                break;
+            case SLOW_BALL:
+                if (game.config.slowTicks > 0) {
+                    game.addEffect(type, game.config.slowTicks);
+                } else {
+                    game.setBallSpeed(Math.max(game.config.minBallSpeed, game.ballSpeed * game.config.slowFactor));
+                }
+                break;
+            case MULTI_BALL:
+                game.splitBalls();
+                break;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package BrickBreakerGame;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+// Quality Governor Class
+// Trades eye candy for smoothness on slow machines. Paint times of gameplay frames are collected
+// in windows of 32; when a window's 90th percentile is over budget, quality drops a tier at once.
+// It only climbs back after several windows in a row under half the budget, and each climb that
+// is immediately undone doubles the wait before the next, so it settles rather than oscillates.
+public class QualityGovernor {
+    // Tiers, each adding to the savings of the ones before
+    static final int FULL = 0;
+    static final int NO_GLOW = 1;         // sprites without their glow halos
+    static final int FEWER_PARTICLES = 2; // newest particles only, every other one
+    static final int NO_ANTIALIAS = 3;
+    static final int FLAT = 4;            // flat fills instead of gradients
+    static final String[] TIER_NAMES = { "full", "no glow", "fewer particles", "no antialiasing", "flat" };
+    
+    static final int WINDOW = 32;
+    private static final double HEADROOM = 0.5;
+    private static final int MIN_CALM_WINDOWS = 4;
+    private static final int MAX_CALM_WINDOWS = 64;
+    
+    private final long budgetNanos;
+    private final boolean adaptive;
+    private int tier;
+    private final long[] window = new long[WINDOW];
+    private final long[] sorted = new long[WINDOW];
+    private int samples = 0;
+    private int calmWindows = 0;
+    private int calmNeeded = MIN_CALM_WINDOWS;
+    private boolean justRaised = false;
+    private long lastP90;
+    int changes;
+    
+    // Adaptive, starting at full quality
+    public QualityGovernor(long budgetNanos) {
+        this(budgetNanos, FULL, true);
+    }
+    
+    public QualityGovernor(long budgetNanos, int tier, boolean adaptive) {
+        this.budgetNanos = budgetNanos;
+        this.tier = Math.max(FULL, Math.min(FLAT, tier));
+        this.adaptive = adaptive;
+    }
+    
+    // -Dbrickbreaker.quality: "auto" (default) adapts with a budget of three quarters of the
+    // frame; a tier number from 0 (full) to 4 (flat) fixes the quality
+    public static QualityGovernor fromSystemProperties(long frameNanos) {
+        String quality = System.getProperty("brickbreaker.quality", "auto");
+        if (quality.equals("auto")) {
+            return new QualityGovernor(frameNanos * 3 / 4);
+        }
+        return new QualityGovernor(frameNanos * 3 / 4, Integer.parseInt(quality), false);
+    }
+    
+    public int tier() {
+        return tier;
+    }
+    
+    // Reports how long a gameplay frame took to paint
+    public void frame(long nanos) {
+        if (!adaptive) {
+            return;
+        }
+        window[samples++] = nanos;
+        if (samples < WINDOW) {
+            return;
+        }
+        samples = 0;
+        System.arraycopy(window, 0, sorted, 0, WINDOW);
+        Arrays.sort(sorted);
+        lastP90 = sorted[WINDOW * 9 / 10];
+        
+        if (lastP90 > budgetNanos) {
+            calmWindows = 0;
+            if (justRaised) {
+                calmNeeded = Math.min(MAX_CALM_WINDOWS, calmNeeded * 2); // that climb was too soon
+            }
+            justRaised = false;
+            if (tier < FLAT) {
+                tier++;
+                changes++;
+            }
+            return;
+        }
+        if (justRaised) {
+            calmNeeded = Math.max(MIN_CALM_WINDOWS, calmNeeded / 2); // the climb held
+            justRaised = false;
+        }
+        if (lastP90 < budgetNanos * HEADROOM && tier > FULL) {
+            if (++calmWindows >= calmNeeded) {
+                calmWindows = 0;
+                tier--;
+                changes++;
+                justRaised = true;
+            }
+        } else {
+            calmWindows = 0;
+        }
+    }
+    
+    public String summary() {
+        return String.format(Locale.ROOT, "quality %s%s, paint p90 %.2f ms of %.2f ms budget",
+                             TIER_NAMES[tier], adaptive ? " (auto)" : "", lastP90 / 1e6, budgetNanos / 1e6);
+    }
+}
@@ -0,0 +1,97 @@
+package BrickBreakerGame;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+// Replay Class
+// A loaded recording, re-simulated headlessly as fast as the CPU allows
+class Replay {
+    final long seed;
+    final long layoutSeed;
+    final int serveBalls;
+    final int startLevel;
+    final GameConfig config;
+    final long ticks;
+    final int score;
+    final int level;
+    final int lives;
+    final long stateHash;
+    private final byte[] runs;
+    
+    private Replay(long seed, long layoutSeed, int serveBalls, int startLevel, GameConfig config, long ticks,
+                   byte[] runs, int score, int level, int lives, long stateHash) {
+        this.seed = seed;
+        this.layoutSeed = layoutSeed;
+        this.serveBalls = serveBalls;
+        this.startLevel = startLevel;
+        this.config = config;
+        this.ticks = ticks;
+        this.runs = runs;
+        this.score = score;
+        this.level = level;
+        this.lives = lives;
+        this.stateHash = stateHash;
+    }
+    
+    public static Replay load(Path path) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readInt() != ReplayRecorder.MAGIC) {
+                throw new IOException("Not a replay file: " + path);
+            }
+            int version = in.readUnsignedByte();
+            if (version != ReplayRecorder.VERSION && version != 3) {
+                throw new IOException("Unsupported replay version " + version);
+            }
+            long seed = in.readLong();
+            long layoutSeed = in.readLong();
+            int serveBalls = in.readInt();
+            int startLevel = in.readInt();
+            GameConfig config = GameConfig.read(in, version);
+            long ticks = in.readLong();
+            byte[] runs = new byte[in.readInt()];
+            in.readFully(runs);
+            return new Replay(seed, layoutSeed, serveBalls, startLevel, config, ticks, runs,
+                              in.readInt(), in.readInt(), in.readInt(), in.readLong());
+        }
+    }
+    
+    // Re-simulates the game from its seed and inputs; the returned simulation is in its final state
+    public GameSimulation run() {
+        return run(null);
+    }
+    
+    // As above, with the level pack the game was recorded with
+    public GameSimulation run(LevelPack pack) {
+        GameSimulation sim = new GameSimulation(seed, 0, config);
+        sim.setLayoutSeed(layoutSeed);
+        sim.setRandomState(seed);
+        sim.serveBalls = serveBalls;
+        sim.setLevelPack(pack);
+        sim.selectLevel(startLevel);
+        sim.start();
+        int input = 0;
+        int pos = 0;
+        while (pos < runs.length) {
+            long length = 0;
+            int shift = 0;
+            int b;
+            do {
+                b = runs[pos++];
+                length |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            input ^= runs[pos++] & 0xFF;
+            for (long t = 0; t < length; t++) {
+                sim.tick(input);
+            }
+        }
+        return sim;
+    }
+    
+    public boolean matches(GameSimulation sim) {
+        return sim.score == score && sim.level == level && sim.lives == lives && sim.stateHash() == stateHash;
+    }
+}
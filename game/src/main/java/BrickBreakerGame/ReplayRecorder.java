@@ -0,0 +1,111 @@
+package BrickBreakerGame;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+// Replay Recorder Class
+// Logs the input of every simulated tick as runs of identical input. Each run is written as a
+// varint length plus the XOR delta from the previous run's input, so a held key costs a few
+// bytes however long it is held. File layout:
+//   magic, version, seed, layout seed, serveBalls, start level, config, tick count, run bytes,
+//   final score/level/lives/state hash
+class ReplayRecorder {
+    static final int MAGIC = 0x42425250; // "BBRP"
+    static final int VERSION = 4;
+    
+    private final Path path;
+    private final ByteArrayOutputStream runs = new ByteArrayOutputStream();
+    private boolean recording = false;
+    private long seed;
+    private long layoutSeed;
+    private int serveBalls;
+    private int startLevel;
+    private GameConfig config;
+    private long ticks;
+    private int runInput;
+    private int previousRunInput;
+    private long runLength;
+    
+    public ReplayRecorder(Path path) {
+        this.path = path;
+    }
+    
+    public boolean isRecording() {
+        return recording;
+    }
+    
+    public void begin(long seed, long layoutSeed, int serveBalls, int startLevel, GameConfig config) {
+        this.seed = seed;
+        this.layoutSeed = layoutSeed;
+        this.serveBalls = serveBalls;
+        this.startLevel = startLevel;
+        this.config = config.copy();
+        runs.reset();
+        ticks = 0;
+        runInput = 0;
+        previousRunInput = 0;
+        runLength = 0;
+        recording = true;
+    }
+    
+    public void record(int input) {
+        if (!recording) {
+            return;
+        }
+        ticks++;
+        if (input == runInput) {
+            runLength++;
+            return;
+        }
+        flushRun();
+        runInput = input;
+        runLength = 1;
+    }
+    
+    private void flushRun() {
+        if (runLength > 0) {
+            writeVarLong(runs, runLength);
+            runs.write(runInput ^ previousRunInput);
+            previousRunInput = runInput;
+        }
+    }
+    
+    // Ends the recording and writes it out, with the final state for verification
+    public void finish(GameSimulation sim) {
+        if (!recording) {
+            return;
+        }
+        flushRun();
+        recording = false;
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)))) {
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+            out.writeLong(seed);
+            out.writeLong(layoutSeed);
+            out.writeInt(serveBalls);
+            out.writeInt(startLevel);
+            config.write(out);
+            out.writeLong(ticks);
+            out.writeInt(runs.size());
+            runs.writeTo(out);
+            out.writeInt(sim.score);
+            out.writeInt(sim.level);
+            out.writeInt(sim.lives);
+            out.writeLong(sim.stateHash());
+        } catch (IOException e) {
+            System.err.println("Could not write replay to " + path + ": " + e.getMessage());
+        }
+    }
+    
+    static void writeVarLong(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+}
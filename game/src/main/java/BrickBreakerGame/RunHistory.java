@@ -0,0 +1,457 @@
+package BrickBreakerGame;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.zip.CRC32;
+
+// Run History Class
+// Every finished run, appended to a memory-mapped log so a game over costs a few memory writes
+// and never waits on the disk. Fixed-size records make the tail easy to recover: a run counts
+// only if its CRC matches, and whatever follows the first bad record (a write torn by a crash
+// or power cut) is cleared on open. The file is grown by remapping it larger. File layout:
+//   header: magic, version, record size, reserved
+//   record: CRC of the rest, score, level, lives, flags, ticks played, layout seed, end time,
+//           player name (length byte plus up to 15 UTF-8 bytes)
+// Leaderboard queries run against sorted in-memory indexes (by score overall and per player),
+// rebuilt from the log on open.
+public class RunHistory {
+    static final int MAGIC = 0x42425248; // "BBRH"
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 16;
+    static final int RECORD_SIZE = 48;
+    static final int MAX_NAME_BYTES = 15;
+    static final int FLAG_ENDLESS = 1;
+    
+    // Past this many runs the log is compacted on open, keeping every player's best runs and the
+    // most recent ones
+    static final int MAX_RUNS = 1 << 20;
+    static final int KEEP_PER_PLAYER = 100;
+    static final int KEEP_RECENT = 100_000;
+    private static final int MIN_MAPPED_RECORDS = 4096;
+    
+    private final Path path;
+    private final String player;
+    private FileChannel channel;
+    private MappedByteBuffer map;
+    private final byte[] scratch = new byte[RECORD_SIZE];
+    private final ByteBuffer record = ByteBuffer.wrap(scratch);
+    private final CRC32 crc = new CRC32();
+    private boolean syncQueued = false;
+    private boolean failed = false;
+    int discardedBytes; // bytes cleared past the recovered tail on the last open
+    
+    // Index: score and player per run, runs by score (highest first, older first among equals)
+    // and the same per player
+    private int count;
+    private int[] scores = new int[0];
+    private int[] playerOf = new int[0];
+    private int[] byScore = new int[0];
+    private final HashMap<String, Integer> playerIds = new HashMap<>();
+    private final ArrayList<String> playerNames = new ArrayList<>();
+    private int[][] byPlayer = new int[0][];
+    private int[] byPlayerCount = new int[0];
+    private volatile int version; // bumped by every append, so readers can cache query results
+    
+    private RunHistory(Path path, String player) {
+        this.path = path;
+        this.player = player;
+    }
+    
+    // Opens or creates the log; runs recorded through this instance are filed under the player
+    public static RunHistory open(Path path, String player) throws IOException {
+        RunHistory history = new RunHistory(path, player);
+        history.load();
+        if (history.count > MAX_RUNS) {
+            try {
+                history.compact(KEEP_PER_PLAYER, KEEP_RECENT);
+            } catch (IOException e) {
+                System.err.println("Could not compact run history " + path + ": " + e.getMessage());
+            }
+        }
+        return history;
+    }
+    
+    // The log named by -Dbrickbreaker.history (default brickbreaker-runs.bin), filed under
+    // -Dbrickbreaker.player (default the OS user name); null if it cannot be opened
+    public static RunHistory fromSystemProperties() {
+        String file = System.getProperty("brickbreaker.history", "brickbreaker-runs.bin");
+        String player = System.getProperty("brickbreaker.player", System.getProperty("user.name", "player"));
+        try {
+            return open(Paths.get(file), player);
+        } catch (IOException e) {
+            System.err.println("Could not open run history " + file + ": " + e.getMessage());
+            return null;
+        }
+    }
+    
+    private void load() throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                                   StandardOpenOption.WRITE);
+        long size = channel.size();
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("Run history too large: " + path);
+        }
+        if (size > 0 && size < HEADER_SIZE) {
+            throw new IOException("Not a run history file: " + path);
+        }
+        map = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(size, mappedSize(MIN_MAPPED_RECORDS)));
+        if (size == 0) {
+            map.putInt(0, MAGIC);
+            map.putInt(4, VERSION);
+            map.putInt(8, RECORD_SIZE);
+        } else if (map.getInt(0) != MAGIC) {
+            throw new IOException("Not a run history file: " + path);
+        } else if (map.getInt(4) != VERSION || map.getInt(8) != RECORD_SIZE) {
+            throw new IOException("Unsupported run history version " + map.getInt(4));
+        }
+        
+        // Recover: the log ends at the first record that fails its check
+        int capacity = (map.capacity() - HEADER_SIZE) / RECORD_SIZE;
+        int valid = 0;
+        while (valid < capacity && checkRecord(valid)) {
+            valid++;
+        }
+        discardedBytes = 0;
+        int i = offset(valid);
+        for (; i + 8 <= map.capacity(); i += 8) {
+            if (map.getLong(i) != 0) {
+                map.putLong(i, 0);
+                discardedBytes += 8;
+            }
+        }
+        for (; i < map.capacity(); i++) {
+            if (map.get(i) != 0) {
+                map.put(i, (byte) 0);
+                discardedBytes++;
+            }
+        }
+        if (discardedBytes > 0) {
+            map.force();
+        }
+        buildIndex(valid);
+    }
+    
+    private static int offset(int run) {
+        return HEADER_SIZE + run * RECORD_SIZE;
+    }
+    
+    private static long mappedSize(int runs) {
+        return HEADER_SIZE + (long) runs * RECORD_SIZE;
+    }
+    
+    private boolean checkRecord(int run) {
+        copyOut(offset(run), scratch, RECORD_SIZE);
+        crc.reset();
+        crc.update(scratch, 4, RECORD_SIZE - 4);
+        return record.getInt(0) == (int) crc.getValue();
+    }
+    
+    private void buildIndex(int runs) {
+        count = runs;
+        scores = new int[Math.max(16, runs * 2)];
+        playerOf = new int[scores.length];
+        playerIds.clear();
+        playerNames.clear();
+        byPlayerCount = new int[16];
+        byPlayer = new int[16][];
+        for (int r = 0; r < runs; r++) {
+            int offset = offset(r);
+            scores[r] = map.getInt(offset + 4);
+            playerOf[r] = playerId(readName(offset + 32));
+            byPlayerCount[playerOf[r]]++;
+        }
+        
+        // Highest score first, then oldest: a stable radix sort of the runs on inverted score,
+        // 16 bits a pass
+        byScore = new int[scores.length];
+        int[] pass = new int[scores.length];
+        for (int r = 0; r < runs; r++) {
+            pass[r] = r;
+        }
+        int[] counts = new int[1 << 16];
+        for (int shift = 0; shift < 32; shift += 16) {
+            Arrays.fill(counts, 0);
+            for (int i = 0; i < runs; i++) {
+                counts[((Integer.MAX_VALUE - scores[pass[i]]) >>> shift) & 0xFFFF]++;
+            }
+            for (int d = 0, sum = 0; d < counts.length; d++) {
+                int c = counts[d];
+                counts[d] = sum;
+                sum += c;
+            }
+            for (int i = 0; i < runs; i++) {
+                int r = pass[i];
+                byScore[counts[((Integer.MAX_VALUE - scores[r]) >>> shift) & 0xFFFF]++] = r;
+            }
+            int[] swap = pass;
+            pass = byScore;
+            byScore = swap;
+        }
+        byScore = pass;
+        byPlayer = new int[byPlayerCount.length][];
+        for (int p = 0; p < playerNames.size(); p++) {
+            byPlayer[p] = new int[Math.max(16, byPlayerCount[p] * 2)];
+            byPlayerCount[p] = 0;
+        }
+        for (int i = 0; i < runs; i++) {
+            int r = byScore[i];
+            int p = playerOf[r];
+            byPlayer[p][byPlayerCount[p]++] = r;
+        }
+        version++;
+    }
+    
+    private int playerId(String name) {
+        Integer id = playerIds.get(name);
+        if (id != null) {
+            return id;
+        }
+        int p = playerNames.size();
+        playerIds.put(name, p);
+        playerNames.add(name);
+        if (p == byPlayerCount.length) {
+            byPlayerCount = Arrays.copyOf(byPlayerCount, p * 2);
+            byPlayer = Arrays.copyOf(byPlayer, p * 2);
+        }
+        if (p < byPlayer.length && byPlayer[p] == null) {
+            byPlayer[p] = new int[16];
+        }
+        return p;
+    }
+    
+    // Bulk reads go through a duplicate, so the map's own position never moves
+    private void copyOut(int offset, byte[] bytes, int length) {
+        ByteBuffer view = map.duplicate();
+        view.position(offset);
+        view.get(bytes, 0, length);
+    }
+    
+    private String readName(int offset) {
+        int length = Math.min(map.get(offset) & 0xFF, MAX_NAME_BYTES);
+        byte[] bytes = new byte[length];
+        copyOut(offset + 1, bytes, length);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+    
+    // Files the simulation's run as finished; called on game over and when a game is abandoned
+    public void record(GameSimulation sim) {
+        append(player, sim.score, sim.level, sim.lives, sim.tickCount, sim.layoutSeed, sim.config.endless,
+               System.currentTimeMillis());
+    }
+    
+    public synchronized void append(String name, int score, int level, int lives, long ticks, long seed,
+                                    boolean endless, long endedAt) {
+        if (failed) {
+            return;
+        }
+        if (mappedSize(count + 1) > map.capacity()) {
+            try {
+                long size = Math.min(mappedSize(count * 2), Integer.MAX_VALUE);
+                if (size < mappedSize(count + 1)) {
+                    throw new IOException("file is full");
+                }
+                map = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            } catch (IOException e) {
+                failed = true;
+                System.err.println("Could not grow run history " + path + ": " + e.getMessage());
+                return;
+            }
+        }
+        
+        byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+        int nameLength = Math.min(nameBytes.length, MAX_NAME_BYTES);
+        Arrays.fill(scratch, (byte) 0);
+        record.putInt(4, Math.max(0, score));
+        record.putShort(8, (short) Math.min(level, Short.MAX_VALUE));
+        record.put(10, (byte) Math.max(0, Math.min(lives, Byte.MAX_VALUE)));
+        record.put(11, (byte) (endless ? FLAG_ENDLESS : 0));
+        record.putInt(12, (int) Math.min(ticks, Integer.MAX_VALUE));
+        record.putLong(16, seed);
+        record.putLong(24, endedAt);
+        record.put(32, (byte) nameLength);
+        System.arraycopy(nameBytes, 0, scratch, 33, nameLength);
+        crc.reset();
+        crc.update(scratch, 4, RECORD_SIZE - 4);
+        record.putInt(0, (int) crc.getValue());
+        ByteBuffer view = map.duplicate();
+        view.position(offset(count));
+        view.put(scratch, 0, RECORD_SIZE);
+        
+        // Index the run: arrays grow by doubling, insertion keeps them sorted
+        int run = count++;
+        if (run == scores.length) {
+            scores = Arrays.copyOf(scores, run * 2);
+            playerOf = Arrays.copyOf(playerOf, run * 2);
+            byScore = Arrays.copyOf(byScore, run * 2);
+        }
+        // The name is read back from the record, so it matches what a reload would see
+        String filed = readName(offset(run) + 32);
+        scores[run] = Math.max(0, score);
+        playerOf[run] = playerId(filed);
+        insert(byScore, run, run);
+        int p = playerOf[run];
+        if (byPlayerCount[p] == byPlayer[p].length) {
+            byPlayer[p] = Arrays.copyOf(byPlayer[p], byPlayerCount[p] * 2);
+        }
+        insert(byPlayer[p], byPlayerCount[p]++, run);
+        version++;
+        
+        // Flush to disk off the caller's thread; the OS writes the pages back anyway, this narrows
+        // what a power cut can lose
+        if (!syncQueued) {
+            syncQueued = true;
+            ForkJoinPool.commonPool().execute(this::sync);
+        }
+    }
+    
+    // Inserts a run after every run scoring at least as much
+    private void insert(int[] runs, int size, int run) {
+        int at = countAbove(runs, size, scores[run] - 1);
+        System.arraycopy(runs, at, runs, at + 1, size - at);
+        runs[at] = run;
+    }
+    
+    // How many of the sorted runs score more than the given score
+    private int countAbove(int[] runs, int size, int score) {
+        int lo = 0, hi = size;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (scores[runs[mid]] > score) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+    
+    public void sync() {
+        MappedByteBuffer mapped;
+        synchronized (this) {
+            syncQueued = false;
+            mapped = map;
+        }
+        mapped.force();
+    }
+    
+    public synchronized void close() throws IOException {
+        map.force();
+        channel.close();
+    }
+    
+    // Changes whenever a run is added, so a cached leaderboard knows when to refresh
+    public int version() {
+        return version;
+    }
+    
+    public synchronized int size() {
+        return count;
+    }
+    
+    // Where a score would place on the overall leaderboard, 1 being the top
+    public synchronized int rankOf(int score) {
+        return countAbove(byScore, count, score) + 1;
+    }
+    
+    // The same within one player's runs
+    public synchronized int rankOf(String name, int score) {
+        Integer p = playerIds.get(name);
+        return p == null ? 1 : countAbove(byPlayer[p], byPlayerCount[p], score) + 1;
+    }
+    
+    // Best runs overall, highest first
+    public synchronized RunRecord[] top(int n) {
+        return runs(byScore, Math.min(n, count));
+    }
+    
+    // Best runs of one player, highest first
+    public synchronized RunRecord[] topFor(String name, int n) {
+        Integer p = playerIds.get(name);
+        return p == null ? new RunRecord[0] : runs(byPlayer[p], Math.min(n, byPlayerCount[p]));
+    }
+    
+    // The most recent runs, newest first
+    public synchronized RunRecord[] recent(int n) {
+        RunRecord[] out = new RunRecord[Math.min(n, count)];
+        for (int i = 0; i < out.length; i++) {
+            out[i] = run(count - 1 - i);
+        }
+        return out;
+    }
+    
+    private RunRecord[] runs(int[] runs, int n) {
+        RunRecord[] out = new RunRecord[n];
+        for (int i = 0; i < n; i++) {
+            out[i] = run(runs[i]);
+        }
+        return out;
+    }
+    
+    private RunRecord run(int run) {
+        int offset = offset(run);
+        return new RunRecord(playerNames.get(playerOf[run]), map.getInt(offset + 4), map.getShort(offset + 8),
+                             map.get(offset + 10), (map.get(offset + 11) & FLAG_ENDLESS) != 0,
+                             map.getInt(offset + 12) & 0xFFFFFFFFL, map.getLong(offset + 16),
+                             map.getLong(offset + 24));
+    }
+    
+    // Rewrites the log keeping each player's best runs and the most recent runs overall, in their
+    // original order. The new log is written beside the old one and moved over it, so a crash
+    // leaves one or the other intact. If the move fails (some platforms refuse to replace a file
+    // that is still mapped) the original log is reopened and this history stays usable. Returns
+    // how many runs were dropped.
+    public synchronized int compact(int keepPerPlayer, int keepRecent) throws IOException {
+        boolean[] keep = new boolean[count];
+        for (int r = Math.max(0, count - keepRecent); r < count; r++) {
+            keep[r] = true;
+        }
+        for (int p = 0; p < playerNames.size(); p++) {
+            for (int i = 0; i < Math.min(keepPerPlayer, byPlayerCount[p]); i++) {
+                keep[byPlayer[p][i]] = true;
+            }
+        }
+        
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        int kept = 0;
+        try {
+            try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                                                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer header = map.duplicate();
+                header.position(0).limit(HEADER_SIZE);
+                out.write(header);
+                for (int r = 0; r < count; r++) {
+                    if (keep[r]) {
+                        copyOut(offset(r), scratch, RECORD_SIZE);
+                        record.clear();
+                        out.write(record);
+                        kept++;
+                    }
+                }
+                out.force(true);
+            }
+            int dropped = count - kept;
+            map.force();
+            channel.close();
+            try {
+                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                load(); // the compacted log, or the original again if the move failed
+            }
+            return dropped;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+}
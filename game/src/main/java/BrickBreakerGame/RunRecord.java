@@ -0,0 +1,25 @@
+package BrickBreakerGame;
+
+// Run Record Class
+// One finished run as read back from the run history
+class RunRecord {
+    final String player;
+    final int score;
+    final int level;
+    final int lives;
+    final boolean endless;
+    final long ticks;
+    final long seed;
+    final long endedAt;
+    
+    RunRecord(String player, int score, int level, int lives, boolean endless, long ticks, long seed, long endedAt) {
+        this.player = player;
+        this.score = score;
+        this.level = level;
+        this.lives = lives;
+        this.endless = endless;
+        this.ticks = ticks;
+        this.seed = seed;
+        this.endedAt = endedAt;
+    }
+}
@@ -0,0 +1,76 @@
+package BrickBreakerGame;
+
+import java.util.concurrent.locks.LockSupport;
+
+// Simulation Thread Class
+// Runs the game on its own fixed-step thread, away from the EDT: painting, window drags and
+// input handling can no longer stall physics. Key events arrive through an SPSC queue and every
+// step publishes a snapshot for the renderer through a triple buffer.
+class SimulationThread {
+    final InputQueue input = new InputQueue(InputQueue.DEFAULT_CAPACITY);
+    private final SnapshotExchange exchange = new SnapshotExchange();
+    private final GameSimulation sim;
+    private final GameControls controls;
+    private final long tickNanos = (long) (GameSimulation.TICK_SECONDS * 1e9);
+    private volatile boolean running = false;
+    private Thread thread;
+    
+    public SimulationThread(GameSimulation sim, GameControls controls) {
+        this.sim = sim;
+        this.controls = controls;
+        publish(System.nanoTime());
+    }
+    
+    public void start() {
+        running = true;
+        thread = new Thread(this::run, "simulation");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MAX_PRIORITY);
+        thread.start();
+    }
+    
+    public void stop() {
+        running = false;
+    }
+    
+    // Renderer side: newest state, or null if nothing changed since the last call
+    public GameSnapshot latest() {
+        return exchange.poll();
+    }
+    
+    private void run() {
+        long deadline = System.nanoTime() + tickNanos;
+        while (running) {
+            while (!input.isEmpty()) {
+                int code = input.poll();
+                if (code >= 0) {
+                    controls.keyPressed(sim, code);
+                } else {
+                    controls.keyReleased(~code);
+                }
+            }
+            controls.applyLoaded(sim);
+            sim.setHeldInput(controls.heldInput);
+            sim.step();
+            publish(deadline - tickNanos);
+            
+            // The renderer interpolates by wall time, so a plain park is precise enough here
+            long wait;
+            while ((wait = deadline - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            deadline += tickNanos;
+            if (System.nanoTime() - deadline > GameSimulation.MAX_TICKS_PER_ADVANCE * tickNanos) {
+                // Stalled (e.g. suspended): resync instead of replaying the whole backlog
+                deadline = System.nanoTime() + tickNanos;
+            }
+        }
+    }
+    
+    private void publish(long when) {
+        GameSnapshot snapshot = exchange.back();
+        sim.saveTo(snapshot);
+        snapshot.tickNanos = when;
+        exchange.publish();
+    }
+}
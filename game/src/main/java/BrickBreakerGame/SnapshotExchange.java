@@ -0,0 +1,35 @@
+package BrickBreakerGame;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Snapshot Exchange Class
+// Lock-free triple buffer between one writer and one reader. The writer fills its back buffer
+// and swaps it into the middle slot; the reader swaps the middle slot out when it is fresh.
+// Neither side ever waits, and the reader always gets the newest complete snapshot.
+class SnapshotExchange {
+    private static final int FRESH = 4;
+    
+    private final GameSnapshot[] buffers = { new GameSnapshot(), new GameSnapshot(), new GameSnapshot() };
+    private final AtomicInteger middle = new AtomicInteger(1); // buffer index, plus FRESH once published
+    private int back = 0;  // writer only
+    private int front = 2; // reader only
+    
+    // Writer: the buffer to fill next
+    public GameSnapshot back() {
+        return buffers[back];
+    }
+    
+    // Writer: hands the filled back buffer over
+    public void publish() {
+        back = middle.getAndSet(back | FRESH) & 3;
+    }
+    
+    // Reader: the newest snapshot if one arrived since the last call, otherwise null
+    public GameSnapshot poll() {
+        if ((middle.get() & FRESH) == 0) {
+            return null;
+        }
+        front = middle.getAndSet(front) & 3;
+        return buffers[front];
+    }
+}
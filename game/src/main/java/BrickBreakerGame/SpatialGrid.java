@@ -0,0 +1,101 @@
+package BrickBreakerGame;
+
+import java.util.Arrays;
+
+// Spatial Grid Class
+// Uniform bucket grid over the playfield for many small moving entities (particles, power-ups,
+// future projectiles). Entities are int ids filed under the cell of their centre, and queries
+// widen their box by the largest entity half-size, so an entity turns up in every box it touches.
+// Filing is a counting sort into flat arrays, so a rebuild allocates nothing once warmed up, and a
+// query only visits the cells under its box. Anything outside the field lands in the border cells.
+class SpatialGrid {
+    private final int cellSize;
+    private final int columns;
+    private final int rows;
+    private final double margin;
+    private final int[] cellStart;  // first sorted entry of each cell; one extra end entry
+    private int[] cellOf = new int[64];
+    private int[] staged = new int[64];
+    private int[] sorted = new int[64];
+    private int count = 0;
+    private boolean built = true;
+    
+    // Ids found by the last query
+    int[] results = new int[64];
+    
+    public SpatialGrid(int width, int height, int cellSize, double margin) {
+        this.cellSize = cellSize;
+        this.margin = margin;
+        columns = (width + cellSize - 1) / cellSize;
+        rows = (height + cellSize - 1) / cellSize;
+        cellStart = new int[columns * rows + 1];
+    }
+    
+    public int size() {
+        return count;
+    }
+    
+    public void clear() {
+        count = 0;
+        built = false;
+    }
+    
+    public void add(int id, double centerX, double centerY) {
+        if (count == staged.length) {
+            staged = Arrays.copyOf(staged, count * 2);
+            cellOf = Arrays.copyOf(cellOf, count * 2);
+            sorted = new int[count * 2];
+        }
+        cellOf[count] = row(centerY) * columns + column(centerX);
+        staged[count++] = id;
+        built = false;
+    }
+    
+    private int column(double x) {
+        return Math.max(0, Math.min(columns - 1, (int) Math.floor(x / cellSize)));
+    }
+    
+    private int row(double y) {
+        return Math.max(0, Math.min(rows - 1, (int) Math.floor(y / cellSize)));
+    }
+    
+    // Counting sort by cell; stable, so each cell keeps the order ids were added in
+    private void build() {
+        Arrays.fill(cellStart, 0);
+        for (int i = 0; i < count; i++) {
+            cellStart[cellOf[i] + 1]++;
+        }
+        for (int c = 1; c < cellStart.length; c++) {
+            cellStart[c] += cellStart[c - 1];
+        }
+        for (int i = 0; i < count; i++) {
+            sorted[cellStart[cellOf[i]]++] = staged[i];
+        }
+        // Filling advanced each start to the next cell's; shift them back
+        for (int c = cellStart.length - 1; c > 0; c--) {
+            cellStart[c] = cellStart[c - 1];
+        }
+        cellStart[0] = 0;
+        built = true;
+    }
+    
+    // Collects into results the ids of entities that may overlap the box; returns how many
+    public int query(double x0, double y0, double x1, double y1) {
+        if (!built) {
+            build();
+        }
+        int c0 = column(x0 - margin), c1 = column(x1 + margin);
+        int r0 = row(y0 - margin), r1 = row(y1 + margin);
+        int n = 0;
+        for (int r = r0; r <= r1; r++) {
+            int from = cellStart[r * columns + c0];
+            int to = cellStart[r * columns + c1 + 1]; // cells of a row are contiguous
+            if (n + to - from > results.length) {
+                results = Arrays.copyOf(results, Math.max(results.length * 2, n + to - from));
+            }
+            System.arraycopy(sorted, from, results, n, to - from);
+            n += to - from;
+        }
+        return n;
+    }
+}
@@ -0,0 +1,121 @@
+package BrickBreakerGame;
+
+import java.awt.*;
+import java.awt.geom.*;
+import java.awt.image.BufferedImage;
+
+// Sprite Atlas Class
+// Ball, power-ups and life icon pre-rendered side by side into one image; drawing is a blit.
+// A second copy without glows lets low quality tiers blit smaller boxes.
+class SpriteAtlas {
+    private static final int BALL_GLOW = 6;
+    private static final int POWER_UP_SIZE = 42;
+    private static final int LIFE_SIZE = 18;
+    private static final Color LIFE_COLOR = new Color(231, 76, 60);
+    private static final Font SYMBOL_FONT = new Font("Arial", Font.BOLD, 16);
+    private static final Color PADDLE_HIGHLIGHT = new Color(255, 255, 255, 100);
+    
+    private static final int PLAIN_POWER_UP_SIZE = 26;
+    
+    private final BufferedImage image;
+    private final BufferedImage plainImage;
+    private final int ballSize;
+    private final int ballSprite;
+    private final int powerUpX;
+    private final int lifeX;
+    boolean glow = true;
+    
+    // The paddle changes width with power-ups, so it gets its own image rebuilt on resize
+    private BufferedImage paddle;
+    
+    public SpriteAtlas(int ballSize, Color ballColor) {
+        this.ballSize = ballSize;
+        ballSprite = ballSize + 2 * BALL_GLOW;
+        powerUpX = ballSprite;
+        lifeX = powerUpX + PowerUp.PowerUpType.values().length * POWER_UP_SIZE;
+        image = render(ballColor, true);
+        plainImage = render(ballColor, false);
+    }
+    
+    private BufferedImage render(Color ballColor, boolean glow) {
+        BufferedImage image = new BufferedImage(lifeX + LIFE_SIZE, Math.max(ballSprite, POWER_UP_SIZE),
+                                                BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = image.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        
+        // Ball with outer glow
+        for (int i = 3; glow && i >= 0; i--) {
+            int alpha = 50 - i * 12;
+            g.setColor(new Color(255, 255, 255, alpha));
+            g.fillOval(BALL_GLOW - i*2, BALL_GLOW - i*2, ballSize + i*4, ballSize + i*4);
+        }
+        g.setPaint(new GradientPaint(BALL_GLOW, BALL_GLOW, Color.WHITE,
+                                     BALL_GLOW + ballSize, BALL_GLOW + ballSize, ballColor));
+        g.fillOval(BALL_GLOW, BALL_GLOW, ballSize, ballSize);
+        
+        // Power-ups with glow and symbol, centred in their cells
+        g.setFont(SYMBOL_FONT);
+        FontMetrics fm = g.getFontMetrics();
+        for (PowerUp.PowerUpType type : PowerUp.PowerUpType.values()) {
+            int x = powerUpX + type.ordinal() * POWER_UP_SIZE + POWER_UP_SIZE / 2;
+            int y = POWER_UP_SIZE / 2;
+            Color color = type.color;
+            for (int i = 2; glow && i >= 0; i--) {
+                int alpha = 30 - i * 10;
+                g.setColor(new Color(color.getRed(), color.getGreen(), color.getBlue(), alpha));
+                g.fillOval(x - 15 - i*3, y - 15 - i*3, 30 + i*6, 30 + i*6);
+            }
+            g.setPaint(new GradientPaint(x - 15, y - 15, color.brighter(), x + 15, y + 15, color.darker()));
+            g.fillOval(x - 12, y - 12, 24, 24);
+            g.setColor(Color.WHITE);
+            g.drawString(type.symbol, x - fm.stringWidth(type.symbol)/2, y + 6);
+        }
+        
+        // Life icon
+        g.setColor(LIFE_COLOR);
+        g.fillOval(lifeX, 0, LIFE_SIZE, LIFE_SIZE);
+        g.dispose();
+        return image;
+    }
+    
+    private void blit(Graphics2D g, int dx, int dy, int sx, int sy, int w, int h) {
+        g.drawImage(glow ? image : plainImage, dx, dy, dx + w, dy + h, sx, sy, sx + w, sy + h, null);
+    }
+    
+    // (x, y) is the ball's top-left corner, as in the simulation
+    public void drawBall(Graphics2D g, double x, double y) {
+        if (glow) {
+            blit(g, (int)x - BALL_GLOW, (int)y - BALL_GLOW, 0, 0, ballSprite, ballSprite);
+        } else {
+            blit(g, (int)x, (int)y, BALL_GLOW, BALL_GLOW, ballSize, ballSize);
+        }
+    }
+    
+    // (x, y) is the power-up's centre
+    public void drawPowerUp(Graphics2D g, PowerUp.PowerUpType type, double x, double y) {
+        int size = glow ? POWER_UP_SIZE : PLAIN_POWER_UP_SIZE;
+        blit(g, (int)x - size / 2, (int)y - size / 2,
+             powerUpX + type.ordinal() * POWER_UP_SIZE + (POWER_UP_SIZE - size) / 2, (POWER_UP_SIZE - size) / 2,
+             size, size);
+    }
+    
+    public void drawLife(Graphics2D g, int x, int y) {
+        blit(g, x, y, lifeX, 0, LIFE_SIZE, LIFE_SIZE);
+    }
+    
+    public void drawPaddle(Graphics2D g, int x, int y, int width, int height) {
+        if (paddle == null || paddle.getWidth() != width || paddle.getHeight() != height) {
+            paddle = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+            Graphics2D pg = paddle.createGraphics();
+            pg.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            Color paddleColor = GameSimulation.PADDLE_COLOR;
+            pg.setPaint(new GradientPaint(0, 0, paddleColor.brighter(), 0, height, paddleColor.darker()));
+            pg.fill(new RoundRectangle2D.Double(0, 0, width, height, 10, 10));
+            pg.setColor(PADDLE_HIGHLIGHT);
+            pg.fillRoundRect(0, 0, width, height/3, 10, 10);
+            pg.dispose();
+        }
+        g.drawImage(paddle, x, y, null);
+    }
+}
@@ -0,0 +1,101 @@
+package BrickBreakerGame;
+
+// Swept Collision Class
+// Continuous circle-vs-box test: how far along its path a moving ball first touches a box
+class SweptCollision {
+    double time;      // fraction of the swept segment, 0 to 1
+    double normalX;   // contact normal, pointing out of the box
+    double normalY;
+    
+    // Returns true if a circle at (cx, cy) moving by (dx, dy) hits the box while approaching it
+    boolean sweep(double cx, double cy, double dx, double dy, double r,
+                  double minX, double minY, double maxX, double maxY) {
+        // Closest point of the box to the centre; inside the radius means already touching
+        double qx = Math.max(minX, Math.min(cx, maxX));
+        double qy = Math.max(minY, Math.min(cy, maxY));
+        double ox = cx - qx;
+        double oy = cy - qy;
+        double distSq = ox * ox + oy * oy;
+        if (distSq < r * r) {
+            if (distSq > 0) {
+                double dist = Math.sqrt(distSq);
+                normalX = ox / dist;
+                normalY = oy / dist;
+            } else {
+                // Centre inside the box: push out along the axis of least penetration
+                double left = cx - minX, right = maxX - cx, top = cy - minY, bottom = maxY - cy;
+                double min = Math.min(Math.min(left, right), Math.min(top, bottom));
+                normalX = min == left ? -1 : min == right ? 1 : 0;
+                normalY = normalX != 0 ? 0 : min == top ? -1 : 1;
+            }
+            time = 0;
+            return dx * normalX + dy * normalY < 0;
+        }
+        
+        // Centre beyond a corner: the only way in is through that corner's rounded edge
+        boolean outX = cx < minX || cx > maxX;
+        boolean outY = cy < minY || cy > maxY;
+        if (outX && outY && cx > minX - r && cx < maxX + r && cy > minY - r && cy < maxY + r) {
+            return sweepCorner(cx, cy, dx, dy, r, qx, qy);
+        }
+        
+        // Ray against the box grown by r (slab method)
+        double tEnter = -Double.MAX_VALUE;
+        double tExit = Double.MAX_VALUE;
+        double nx = 0;
+        double ny = 0;
+        if (dx == 0) {
+            if (cx <= minX - r || cx >= maxX + r) return false;
+        } else {
+            double t1 = (minX - r - cx) / dx;
+            double t2 = (maxX + r - cx) / dx;
+            if (t1 > t2) { double tmp = t1; t1 = t2; t2 = tmp; }
+            if (t1 > tEnter) { tEnter = t1; nx = dx > 0 ? -1 : 1; ny = 0; }
+            tExit = Math.min(tExit, t2);
+        }
+        if (dy == 0) {
+            if (cy <= minY - r || cy >= maxY + r) return false;
+        } else {
+            double t1 = (minY - r - cy) / dy;
+            double t2 = (maxY + r - cy) / dy;
+            if (t1 > t2) { double tmp = t1; t1 = t2; t2 = tmp; }
+            if (t1 > tEnter) { tEnter = t1; nx = 0; ny = dy > 0 ? -1 : 1; }
+            tExit = Math.min(tExit, t2);
+        }
+        if (tEnter > tExit || tEnter > 1 || tEnter < 0) {
+            return false;
+        }
+        
+        // Entry point in a corner region of the grown box: test the rounded corner instead
+        double px = cx + dx * tEnter;
+        double py = cy + dy * tEnter;
+        boolean cornerX = px < minX || px > maxX;
+        boolean cornerY = py < minY || py > maxY;
+        if (cornerX && cornerY) {
+            return sweepCorner(cx, cy, dx, dy, r, px < minX ? minX : maxX, py < minY ? minY : maxY);
+        }
+        
+        time = tEnter;
+        normalX = nx;
+        normalY = ny;
+        return true;
+    }
+    
+    // Ray against the circle of radius r around a box corner (kx, ky)
+    private boolean sweepCorner(double cx, double cy, double dx, double dy, double r, double kx, double ky) {
+        double fx = cx - kx;
+        double fy = cy - ky;
+        double a = dx * dx + dy * dy;
+        if (a == 0) return false;
+        double b = 2 * (fx * dx + fy * dy);
+        double c = fx * fx + fy * fy - r * r;
+        double disc = b * b - 4 * a * c;
+        if (disc < 0) return false;
+        double t = (-b - Math.sqrt(disc)) / (2 * a);
+        if (t < 0 || t > 1) return false;
+        time = t;
+        normalX = (fx + dx * t) / r;
+        normalY = (fy + dy * t) / r;
+        return dx * normalX + dy * normalY < 0;
+    }
+}
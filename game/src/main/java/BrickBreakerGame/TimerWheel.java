@@ -0,0 +1,170 @@
+package BrickBreakerGame;
+
+import java.util.Arrays;
+
+// Timer Wheel Class
+// Hashed timing wheel on the simulation's tick clock. A timer due at tick t waits in slot
+// t mod SLOTS; each tick visits one slot, so the cost per tick depends on what lands in that
+// slot, never on how many timers are pending, and a timer longer than the wheel is only looked
+// at once per revolution. Timers live in pooled parallel arrays linked into per-slot lists, so
+// scheduling and cancelling are O(1) and steady play allocates nothing. Handles carry a
+// generation, so cancelling a timer that already fired is a harmless no-op.
+public class TimerWheel {
+    static final int SLOTS = 256;
+    private static final int MASK = SLOTS - 1;
+    private static final int INDEX_BITS = 16;
+    private static final int INDEX_MASK = (1 << INDEX_BITS) - 1;
+    private static final int NONE = -1;
+    
+    // Called for each timer as it comes due
+    interface Expiry {
+        void expired(int kind, int handle);
+    }
+    
+    private final int[] heads = new int[SLOTS];
+    private int[] next, prev;
+    private long[] deadline;
+    private int[] kind;
+    private int[] generation;
+    private int free = NONE;
+    private int[] dueKinds = new int[8], dueHandles = new int[8];
+    private int size = 0;
+    private long now = 0;
+    
+    public TimerWheel(int capacity) {
+        Arrays.fill(heads, NONE);
+        allocate(Math.max(1, capacity));
+    }
+    
+    private void allocate(int capacity) {
+        int old = next == null ? 0 : next.length;
+        next = next == null ? new int[capacity] : Arrays.copyOf(next, capacity);
+        prev = prev == null ? new int[capacity] : Arrays.copyOf(prev, capacity);
+        deadline = deadline == null ? new long[capacity] : Arrays.copyOf(deadline, capacity);
+        kind = kind == null ? new int[capacity] : Arrays.copyOf(kind, capacity);
+        generation = generation == null ? new int[capacity] : Arrays.copyOf(generation, capacity);
+        for (int i = capacity - 1; i >= old; i--) {
+            prev[i] = i; // free
+            next[i] = free;
+            free = i;
+        }
+    }
+    
+    public long now() {
+        return now;
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    // Fires kind after the given number of ticks (at least one); returns a handle for cancel
+    public int schedule(int ticks, int kind) {
+        if (free == NONE) {
+            if (next.length > INDEX_MASK) {
+                throw new IllegalStateException("Too many timers");
+            }
+            allocate(Math.min(next.length * 2, INDEX_MASK + 1));
+        }
+        int t = free;
+        free = next[t];
+        this.kind[t] = kind;
+        deadline[t] = now + Math.max(1, ticks);
+        link(t);
+        size++;
+        return (generation[t] << INDEX_BITS) | t;
+    }
+    
+    // Stops a pending timer; false if it already fired or was cancelled
+    public boolean cancel(int handle) {
+        int t = live(handle);
+        if (t == NONE) {
+            return false;
+        }
+        unlink(t);
+        release(t);
+        return true;
+    }
+    
+    // Ticks until a pending timer fires, or -1 if it is no longer pending
+    public long remaining(int handle) {
+        int t = live(handle);
+        return t == NONE ? -1 : deadline[t] - now;
+    }
+    
+    // Moves the clock on one tick and fires the timers now due. They are taken off the wheel
+    // before any fires, so callbacks may schedule and cancel freely.
+    public void advance(Expiry expiry) {
+        now++;
+        int due = 0;
+        for (int t = heads[(int) now & MASK]; t != NONE; ) {
+            int following = next[t];
+            if (deadline[t] <= now) {
+                if (due == dueKinds.length) {
+                    dueKinds = Arrays.copyOf(dueKinds, due * 2);
+                    dueHandles = Arrays.copyOf(dueHandles, due * 2);
+                }
+                dueKinds[due] = kind[t];
+                dueHandles[due] = (generation[t] << INDEX_BITS) | t;
+                due++;
+                unlink(t);
+                release(t);
+            }
+            t = following;
+        }
+        for (int i = 0; i < due; i++) {
+            expiry.expired(dueKinds[i], dueHandles[i]);
+        }
+    }
+    
+    // Drops every pending timer and restarts the clock
+    public void clear() {
+        for (int s = 0; s < SLOTS; s++) {
+            for (int t = heads[s]; t != NONE; ) {
+                int following = next[t];
+                release(t);
+                t = following;
+            }
+            heads[s] = NONE;
+        }
+        now = 0;
+    }
+    
+    private int live(int handle) {
+        int t = handle & INDEX_MASK;
+        if (handle < 0 || t >= next.length || generation[t] != handle >>> INDEX_BITS || prev[t] == t) {
+            return NONE;
+        }
+        return t;
+    }
+    
+    private void link(int t) {
+        int slot = (int) deadline[t] & MASK;
+        int head = heads[slot];
+        next[t] = head;
+        prev[t] = NONE;
+        if (head != NONE) {
+            prev[head] = t;
+        }
+        heads[slot] = t;
+    }
+    
+    private void unlink(int t) {
+        if (prev[t] == NONE) {
+            heads[(int) deadline[t] & MASK] = next[t];
+        } else {
+            next[prev[t]] = next[t];
+        }
+        if (next[t] != NONE) {
+            prev[next[t]] = prev[t];
+        }
+    }
+    
+    private void release(int t) {
+        generation[t] = (generation[t] + 1) & 0x7FFF;
+        prev[t] = t; // marks the node free
+        next[t] = free;
+        free = t;
+        size--;
+    }
+}
@@ -0,0 +1,47 @@
+package BrickBreakerGame;
+
+// Tracking Bot Class
+// Follows the lowest descending ball, re-deciding only every few ticks to model reaction time
+class TrackingBot implements Controller {
+    static final int DEFAULT_REACTION_TICKS = 12;
+    
+    private final int reactionTicks;
+    private int wait = 0;
+    private int held = 0;
+    
+    public TrackingBot(int reactionTicks) {
+        this.reactionTicks = reactionTicks;
+    }
+    
+    @Override
+    public int input(GameSimulation sim) {
+        if (sim.gameState == GameState.LEVEL_COMPLETE) {
+            return GameSimulation.INPUT_ADVANCE;
+        }
+        if (sim.isBallResting()) {
+            return GameSimulation.INPUT_LAUNCH;
+        }
+        if (wait > 0) {
+            wait--;
+            return held;
+        }
+        wait = reactionTicks;
+        held = track(sim);
+        return held;
+    }
+    
+    private static int track(GameSimulation sim) {
+        // Follow the lowest ball that is still coming down
+        int lowest = 0;
+        for (int b = 1; b < sim.ballCount; b++) {
+            if (sim.ballVY[b] > 0 && (sim.ballVY[lowest] <= 0 || sim.ballY[b] > sim.ballY[lowest])) {
+                lowest = b;
+            }
+        }
+        double target = sim.ballX[lowest] + sim.ballSize / 2.0;
+        double center = sim.playerX + sim.paddleWidth / 2.0;
+        if (target < center - 10) return GameSimulation.INPUT_LEFT;
+        if (target > center + 10) return GameSimulation.INPUT_RIGHT;
+        return 0;
+    }
+}
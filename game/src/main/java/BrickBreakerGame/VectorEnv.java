@@ -0,0 +1,239 @@
+package BrickBreakerGame;
+
+import java.nio.FloatBuffer;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// Vector Env Class
+// Gym-style training interface over a batch of headless games. step() applies one action per
+// environment, writes observations into caller-owned arrays and resets finished episodes in
+// place, so the hot loop allocates nothing. Cosmetics are off (no particles).
+//
+// Actions: 0 = stay, 1 = left, 2 = right, 3 = launch. Level transitions are automatic.
+// Reward: score gained / 100, minus 1 per life lost.
+// Observation (obsSize() floats per env, roughly in [-1, 1]):
+//   paddle centre x, paddle velocity, ball resting flag, lives / 10, brick grid top y,
+//   then OBS_BALLS x (x, y, vx, vy) for the first balls in play (zeros when absent),
+//   then one float per grid cell: hits left / 4 for breakable bricks, -1 for steel, 0 empty
+public class VectorEnv {
+    static final int ACTION_STAY = 0;
+    static final int ACTION_LEFT = 1;
+    static final int ACTION_RIGHT = 2;
+    static final int ACTION_LAUNCH = 3;
+    private static final int[] ACTION_INPUTS = {
+        0, GameSimulation.INPUT_LEFT, GameSimulation.INPUT_RIGHT, GameSimulation.INPUT_LAUNCH
+    };
+    
+    static final int OBS_HEADER = 5;
+    static final int OBS_BALLS = 4;
+    static final int BALL_FEATURES = 4;
+    
+    private final GameSimulation[] envs;
+    private final int ticksPerStep;
+    private final long maxEpisodeTicks;
+    private final int gridRows;
+    private final int gridCols;
+    private final int obsSize;
+    private final long[] episodes;
+    private long baseSeed;
+    
+    // Parallel stepping: one reusable task per slice of environments
+    private final ForkJoinPool pool;
+    private final Slice[] slices;
+    private int[] stepActions;
+    private float[] stepObs;
+    private float[] stepRewards;
+    private boolean[] stepDones;
+    private float[] scratchObs; // staging for FloatBuffer callers
+    
+    public VectorEnv(int count, GameConfig config, int ticksPerStep, long maxEpisodeTicks, int threads) {
+        envs = new GameSimulation[count];
+        for (int e = 0; e < count; e++) {
+            envs[e] = new GameSimulation(e, 0, config);
+        }
+        this.ticksPerStep = ticksPerStep;
+        this.maxEpisodeTicks = maxEpisodeTicks;
+        gridRows = config.endless ? GameSimulation.ENDLESS_ROWS : GameSimulation.MAX_ROWS;
+        gridCols = Math.max(GameSimulation.ENDLESS_COLS, GameSimulation.MAX_COLS);
+        obsSize = OBS_HEADER + OBS_BALLS * BALL_FEATURES + gridRows * gridCols;
+        episodes = new long[count];
+        
+        if (threads > 1) {
+            pool = new ForkJoinPool(threads);
+            slices = new Slice[threads];
+            for (int t = 0; t < threads; t++) {
+                slices[t] = new Slice(count * t / threads, count * (t + 1) / threads);
+            }
+        } else {
+            pool = null;
+            slices = null;
+        }
+    }
+    
+    public int size() {
+        return envs.length;
+    }
+    
+    public int obsSize() {
+        return obsSize;
+    }
+    
+    public int actionCount() {
+        return ACTION_INPUTS.length;
+    }
+    
+    // Starts a fresh episode in every environment; each gets its own seed derived from this one
+    public void reset(long seed, float[] obs) {
+        baseSeed = seed;
+        for (int e = 0; e < envs.length; e++) {
+            episodes[e] = 0;
+            resetEnv(e);
+            observe(e, obs);
+        }
+    }
+    
+    public void reset(long seed, FloatBuffer obs) {
+        float[] scratch = scratch();
+        reset(seed, scratch);
+        copyTo(obs, scratch);
+    }
+    
+    private void resetEnv(int e) {
+        long seed = GameRandom.mix(baseSeed + e * 0x9E3779B97F4A7C15L + episodes[e]++);
+        GameSimulation sim = envs[e];
+        sim.resetGame(GameRandom.mix(~seed));
+        sim.setRandomState(seed);
+        sim.start();
+    }
+    
+    // Advances every environment by one action; finished episodes are reset and report the
+    // first observation of their next episode
+    public void step(int[] actions, float[] obs, float[] rewards, boolean[] dones) {
+        if (pool == null) {
+            stepRange(0, envs.length, actions, obs, rewards, dones);
+            return;
+        }
+        stepActions = actions;
+        stepObs = obs;
+        stepRewards = rewards;
+        stepDones = dones;
+        for (Slice slice : slices) {
+            slice.reinitialize();
+        }
+        pool.invoke(slices[0]);
+    }
+    
+    public void step(int[] actions, FloatBuffer obs, float[] rewards, boolean[] dones) {
+        float[] scratch = scratch();
+        step(actions, scratch, rewards, dones);
+        copyTo(obs, scratch);
+    }
+    
+    // Fills the buffer from its start without moving the caller's position
+    private static void copyTo(FloatBuffer obs, float[] scratch) {
+        FloatBuffer view = obs.duplicate();
+        view.position(0);
+        view.put(scratch, 0, scratch.length);
+    }
+    
+    private float[] scratch() {
+        if (scratchObs == null) {
+            scratchObs = new float[envs.length * obsSize];
+        }
+        return scratchObs;
+    }
+    
+    private void stepRange(int from, int to, int[] actions, float[] obs, float[] rewards, boolean[] dones) {
+        for (int e = from; e < to; e++) {
+            GameSimulation sim = envs[e];
+            int score = sim.score;
+            int lives = sim.lives;
+            int input = ACTION_INPUTS[actions[e]];
+            for (int t = 0; t < ticksPerStep && sim.gameState != GameState.GAME_OVER; t++) {
+                sim.tick(sim.gameState == GameState.LEVEL_COMPLETE ? GameSimulation.INPUT_ADVANCE : input);
+            }
+            int livesLost = Math.max(0, lives - sim.lives);
+            rewards[e] = (sim.score - score) / 100f - livesLost;
+            boolean done = sim.gameState == GameState.GAME_OVER || sim.tickCount >= maxEpisodeTicks;
+            dones[e] = done;
+            if (done) {
+                resetEnv(e);
+            }
+            observe(e, obs);
+        }
+    }
+    
+    private void observe(int e, float[] obs) {
+        GameSimulation sim = envs[e];
+        int o = e * obsSize;
+        obs[o] = (sim.playerX + sim.paddleWidth / 2f) / GameSimulation.WIDTH;
+        obs[o + 1] = sim.paddleVelocity() / 8f;
+        obs[o + 2] = sim.isBallResting() ? 1 : 0;
+        obs[o + 3] = sim.lives / 10f;
+        obs[o + 4] = (float) sim.bricks.brickY(0) / GameSimulation.HEIGHT;
+        o += OBS_HEADER;
+        
+        int balls = Math.min(OBS_BALLS, sim.ballCount);
+        for (int b = 0; b < OBS_BALLS; b++, o += BALL_FEATURES) {
+            if (b < balls) {
+                obs[o] = (float) (sim.ballX[b] / GameSimulation.WIDTH);
+                obs[o + 1] = (float) (sim.ballY[b] / GameSimulation.HEIGHT);
+                obs[o + 2] = (float) (sim.ballVX[b] / 10);
+                obs[o + 3] = (float) (sim.ballVY[b] / 10);
+            } else {
+                obs[o] = obs[o + 1] = obs[o + 2] = obs[o + 3] = 0;
+            }
+        }
+        
+        // Brick grid, visiting only occupied cells of non-empty rows
+        Arrays.fill(obs, o, o + gridRows * gridCols, 0);
+        BrickGenerator bricks = sim.bricks;
+        int rows = Math.min(gridRows, bricks.rows());
+        int lastCol = Math.min(gridCols, bricks.cols()) - 1;
+        for (int i = 0; i < rows; i++) {
+            if (bricks.isRowEmpty(i)) {
+                continue;
+            }
+            int row = o + i * gridCols;
+            for (int j = bricks.nextBrick(i, 0, lastCol); j >= 0; j = bricks.nextBrick(i, j + 1, lastCol)) {
+                int value = bricks.get(i, j);
+                obs[row + j] = BrickGenerator.isBreakable(value) ? BrickGenerator.hitsOf(value) / 4f : -1;
+            }
+        }
+    }
+    
+    public void close() {
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+    
+    // A slice of environments; the first slice forks the others, steps its own and joins them
+    private class Slice extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        
+        private final int from;
+        private final int to;
+        
+        Slice(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+        
+        @Override
+        protected void compute() {
+            if (this != slices[0]) {
+                stepRange(from, to, stepActions, stepObs, stepRewards, stepDones);
+                return;
+            }
+            for (int t = 1; t < slices.length; t++) {
+                slices[t].fork();
+            }
+            stepRange(from, to, stepActions, stepObs, stepRewards, stepDones);
+            for (int t = 1; t < slices.length; t++) {
+                slices[t].join();
+            }
+        }
+    }
+}
@@ -0,0 +1,269 @@
+package BrickBreakerGame;
+
+import java.io.IOException;
+import java.net.SocketAddress;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+// Versus Client Class
+// One player's end of a versus room. Every tick it sends its input, with the previous few repeated
+// so a lost datagram costs nothing, rebuilds the server's latest state into a local view from the
+// delta packets, and predicts its own paddle by replaying the inputs the server has not applied
+// yet, so steering never waits for a round trip.
+class VersusClient {
+    private static final int INPUT_HISTORY = 64; // a power of two
+    private static final int JOIN_RETRY_TICKS = 64;
+    private static final int HISTORY_MASK = VersusServer.HISTORY - 1;
+    private static final GameState[] STATES = GameState.values();
+
+    final GameSimulation view = new GameSimulation(0, 0, new GameConfig());
+    private final DatagramTransport transport;
+    private final SocketAddress server;
+    private final int room;
+    private final ByteBuffer in = ByteBuffer.allocate(VersusServer.MAX_PACKET);
+    private final ByteBuffer out = ByteBuffer.allocate(64);
+    private final GameSnapshot state = new GameSnapshot();
+
+    // Received grids by server tick, the baselines the server diffs against
+    private final int[] baseTicks = new int[VersusServer.HISTORY];
+    private final byte[][] baseCells = new byte[VersusServer.HISTORY][];
+    private int lastTick = -1;
+
+    // Prediction: inputs sent and where they put the paddle, by sequence number
+    private final int[] inputs = new int[INPUT_HISTORY];
+    private final int[] predicted = new int[INPUT_HISTORY];
+    private int seq = 0;
+    private int appliedSeq = 0;
+    private int serverX, serverSpeed;
+    private int shownX;
+
+    boolean connected = false;
+    boolean rejected = false;
+    int seat;
+    long mispredictions = 0;
+    long statesReceived = 0;
+
+    // The other players in the room
+    int rivals = 0;
+    final int[] rivalSeat = new int[VersusServer.MAX_PLAYERS];
+    final int[] rivalScore = new int[VersusServer.MAX_PLAYERS];
+    final int[] rivalLevel = new int[VersusServer.MAX_PLAYERS];
+    final int[] rivalLives = new int[VersusServer.MAX_PLAYERS];
+    final GameState[] rivalState = new GameState[VersusServer.MAX_PLAYERS];
+
+    public VersusClient(DatagramTransport transport, SocketAddress server, int room) throws IOException {
+        this.transport = transport;
+        this.server = server;
+        this.room = room;
+        Arrays.fill(baseTicks, -1);
+        state.layoutSeed = view.layoutSeed;
+        state.serveBalls = 1;
+        join();
+    }
+
+    private void join() throws IOException {
+        out.clear();
+        out.put(VersusServer.JOIN).putInt(room).flip();
+        transport.send(out, server);
+    }
+
+    public void leave() throws IOException {
+        out.clear();
+        out.put(VersusServer.LEAVE).flip();
+        transport.send(out, server);
+    }
+
+    // One client tick: send this tick's input, take in what the server sent, re-predict the paddle
+    public void update(int input) throws IOException {
+        seq++;
+        inputs[seq & (INPUT_HISTORY - 1)] = input;
+        if (!connected && seq % JOIN_RETRY_TICKS == 0) {
+            join(); // joins get lost too
+        }
+
+        int n = Math.min(VersusServer.REDUNDANT_INPUTS, seq);
+        out.clear();
+        out.put(VersusServer.INPUT).putInt(seq).put((byte) n);
+        for (int k = 0; k < n; k++) {
+            out.put((byte) inputs[(seq - k) & (INPUT_HISTORY - 1)]);
+        }
+        out.putInt(lastTick).flip();
+        transport.send(out, server);
+
+        boolean fresh = false;
+        SocketAddress from;
+        while (true) {
+            in.clear();
+            if ((from = transport.receive(in)) == null) {
+                break;
+            }
+            in.flip();
+            if (!from.equals(server) || !in.hasRemaining()) {
+                continue;
+            }
+            byte type = in.get();
+            if (type == VersusServer.REJECT) {
+                rejected = true;
+            } else if (type == VersusServer.STATE) {
+                try {
+                    fresh |= decode(in);
+                } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+                    // truncated or garbled; the next state replaces it
+                }
+            }
+        }
+        if (fresh) {
+            view.restore(state);
+        }
+        if (connected) {
+            predict();
+        }
+    }
+
+    private boolean decode(ByteBuffer in) {
+        int tick = in.getInt();
+        int base = in.getInt();
+        if (tick <= lastTick) {
+            return false; // late or duplicated
+        }
+        byte[] cells = null;
+        if (base >= 0) {
+            if (baseTicks[base & HISTORY_MASK] != base) {
+                return false; // baseline forgotten; unacknowledged, so the server soon sends a full grid
+            }
+            cells = baseCells[base & HISTORY_MASK];
+        }
+
+        GameSnapshot s = state;
+        int applied = in.getInt();
+        int seatIndex = in.get();
+        GameState gameState = STATES[in.get()];
+        s.endless = in.get() != 0;
+        s.level = in.getShort();
+        s.score = in.getInt();
+        s.lives = in.get() & 0xFF;
+        int x = in.getShort();
+        int speed = in.get();
+
+        int rows = in.get() & 0xFF;
+        int cols = in.get() & 0xFF;
+        if (cells != null && cells.length != rows * cols) {
+            return false;
+        }
+        s.brickWidth = in.getShort();
+        s.brickHeight = in.getShort();
+        s.brickTop = in.get() & 0xFF;
+        s.brickOriginY = in.getFloat();
+        s.brickRowsGenerated = in.getInt();
+        s.totalBricks = in.getShort();
+        boolean copied = cells == null;
+        if (cells == null) {
+            cells = new byte[rows * cols];
+        }
+        int r;
+        while ((r = in.get() & 0xFF) != VersusServer.END_OF_ROWS) {
+            int changed = in.getShort() & 0xFFFF;
+            if (!copied) {
+                cells = cells.clone(); // baselines are shared with the view's grid, never written
+                copied = true;
+            }
+            for (int c = 0; c < cols; c++) {
+                if ((changed >>> c & 1) != 0) {
+                    cells[r * cols + c] = in.get();
+                }
+            }
+        }
+        if (cells != s.brickCells || rows != s.brickRows || cols != s.brickCols) {
+            s.brickMasks = BrickGenerator.masksOf(cells, rows, cols);
+        }
+        s.brickCells = cells;
+        s.brickRows = rows;
+        s.brickCols = cols;
+
+        // Balls interpolate from where the previous state had them
+        int balls = in.get() & 0xFF;
+        int previous = s.ballCount;
+        if (s.ballX.length < balls) {
+            s.ensureBalls(balls);
+            previous = 0;
+        }
+        for (int b = 0; b < balls; b++) {
+            double bx = in.getChar() / 16.0;
+            double by = in.getChar() / 16.0;
+            s.prevBallX[b] = b < previous ? s.ballX[b] : bx;
+            s.prevBallY[b] = b < previous ? s.ballY[b] : by;
+            s.ballX[b] = bx;
+            s.ballY[b] = by;
+            s.ballVX[b] = in.getShort() / 256.0;
+            s.ballVY[b] = in.getShort() / 256.0;
+        }
+        s.ballCount = balls;
+
+        int powerUps = in.get() & 0xFF;
+        s.ensurePowerUps(powerUps);
+        for (int i = 0; i < powerUps; i++) {
+            s.powerUpX[i] = in.getChar() / 16.0;
+            s.powerUpY[i] = in.getChar() / 16.0;
+            s.powerUpVY[i] = 2;
+            s.powerUpType[i] = in.get();
+        }
+        s.powerUpCount = powerUps;
+
+        int n = Math.min(in.get() & 0xFF, VersusServer.MAX_PLAYERS);
+        for (int i = 0; i < n; i++) {
+            rivalSeat[i] = in.get();
+            rivalState[i] = STATES[in.get()];
+            rivalLevel[i] = in.getShort();
+            rivalScore[i] = in.getInt();
+            rivalLives[i] = in.get() & 0xFF;
+        }
+        rivals = n;
+
+        // Fully read: commit
+        s.gameState = gameState;
+        s.tickCount = tick;
+        s.playerX = x;
+        s.paddleSpeed = speed;
+        seat = seatIndex;
+        baseTicks[tick & HISTORY_MASK] = tick;
+        baseCells[tick & HISTORY_MASK] = cells;
+        if (connected && applied > appliedSeq && seq - applied < INPUT_HISTORY
+                && predicted[applied & (INPUT_HISTORY - 1)] != x) {
+            mispredictions++;
+        }
+        appliedSeq = applied;
+        serverX = x;
+        serverSpeed = speed;
+        lastTick = tick;
+        statesReceived++;
+        connected = true;
+        return true;
+    }
+
+    // The server's paddle plus every input it has not simulated yet
+    private void predict() {
+        int x = serverX;
+        int speed = serverSpeed;
+        if (view.gameState == GameState.PLAYING) {
+            for (int s = Math.max(appliedSeq + 1, seq - INPUT_HISTORY + 1); s <= seq; s++) {
+                speed = GameSimulation.steerPaddle(speed, inputs[s & (INPUT_HISTORY - 1)]);
+                x = GameSimulation.clampPaddle(x + speed, view.paddleWidth);
+            }
+        }
+        predicted[seq & (INPUT_HISTORY - 1)] = x;
+        view.prevPlayerX = shownX;
+        view.playerX = x;
+        if (view.isBallResting()) {
+            // A served ball rides the paddle, so it follows the prediction too
+            view.prevBallX[0] = shownX + view.paddleWidth / 2 - view.ballSize / 2;
+            view.ballX[0] = x + view.paddleWidth / 2 - view.ballSize / 2;
+        }
+        shownX = x;
+    }
+
+    public void close() throws IOException {
+        leave();
+        transport.close();
+    }
+}
@@ -0,0 +1,124 @@
+package BrickBreakerGame;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.*;
+import java.io.IOException;
+
+// Versus Panel Class
+// Window for a versus client: the local view through the normal renderer, the rivals' standings
+// in the corner. Client ticks run on the Swing timer at the fixed step; the network is polled
+// without blocking, so the EDT never waits on it.
+class VersusPanel extends JPanel implements KeyListener, ActionListener {
+    private static final long serialVersionUID = 1L;
+    
+    private static final Font RIVAL_FONT = new Font("Arial", Font.BOLD, 14);
+    private static final Font STATUS_FONT = new Font("Arial", Font.BOLD, 24);
+    private static final Color RIVAL_COLOR = new Color(200, 200, 200);
+
+    private final VersusClient client;
+    private final GameRenderer renderer;
+    private final Timer timer = new Timer(8, this);
+    private long lastTime = System.nanoTime();
+    private double accumulator = 0;
+    private int heldInput = 0;
+    private int pressedInput = 0;
+
+    public VersusPanel(VersusClient client) {
+        this.client = client;
+        renderer = new GameRenderer(client.view.ballSize, null);
+        renderer.quality = QualityGovernor.fromSystemProperties(timer.getDelay() * 1_000_000L);
+        setPreferredSize(new Dimension(GameSimulation.WIDTH, GameSimulation.HEIGHT));
+        setFocusable(true);
+        setFocusTraversalKeysEnabled(false);
+        addKeyListener(this);
+    }
+
+    public void start() {
+        timer.start();
+    }
+
+    @Override
+    public void actionPerformed(ActionEvent e) {
+        long now = System.nanoTime();
+        accumulator += (now - lastTime) / 1e9;
+        lastTime = now;
+        try {
+            for (int steps = 0; accumulator >= GameSimulation.TICK_SECONDS; steps++) {
+                if (steps == GameSimulation.MAX_TICKS_PER_ADVANCE) {
+                    accumulator = 0;
+                    break;
+                }
+                client.update(heldInput | pressedInput);
+                pressedInput = 0;
+                accumulator -= GameSimulation.TICK_SECONDS;
+            }
+        } catch (IOException ex) {
+            System.err.println("Connection failed: " + ex.getMessage());
+            timer.stop();
+        }
+        repaint();
+    }
+
+    @Override
+    public void paintComponent(Graphics g) {
+        long start = System.nanoTime();
+        super.paintComponent(g);
+        Graphics2D g2d = (Graphics2D) g;
+        renderer.render(g2d, client.view, accumulator / GameSimulation.TICK_SECONDS);
+        renderer.framePainted(client.view, System.nanoTime() - start);
+
+        if (!client.connected) {
+            drawStatus(g2d, client.rejected ? "Room is full" : "Connecting...");
+            return;
+        }
+        g2d.setFont(RIVAL_FONT);
+        g2d.setColor(RIVAL_COLOR);
+        for (int i = 0; i < client.rivals; i++) {
+            String line = "P" + (client.rivalSeat[i] + 1) + "  " + client.rivalScore[i]
+                          + "  L" + client.rivalLevel[i] + "  ♥" + client.rivalLives[i]
+                          + (client.rivalState[i] == GameState.GAME_OVER ? "  out" : "");
+            g2d.drawString(line, 20, GameSimulation.HEIGHT - 40 - 18 * (client.rivals - 1 - i));
+        }
+    }
+
+    private void drawStatus(Graphics2D g2d, String text) {
+        g2d.setFont(STATUS_FONT);
+        g2d.setColor(Color.WHITE);
+        int width = g2d.getFontMetrics().stringWidth(text);
+        g2d.drawString(text, (GameSimulation.WIDTH - width) / 2, GameSimulation.HEIGHT - 120);
+    }
+
+    @Override
+    public void keyPressed(KeyEvent e) {
+        switch (e.getKeyCode()) {
+            case KeyEvent.VK_LEFT:
+                heldInput |= GameSimulation.INPUT_LEFT;
+                break;
+            case KeyEvent.VK_RIGHT:
+                heldInput |= GameSimulation.INPUT_RIGHT;
+                break;
+            case KeyEvent.VK_SPACE:
+                pressedInput |= GameSimulation.INPUT_LAUNCH;
+                break;
+            case KeyEvent.VK_ENTER:
+                pressedInput |= GameSimulation.INPUT_ADVANCE; // next level, or a rematch after game over
+                break;
+            default:
+                break;
+        }
+    }
+
+    @Override
+    public void keyReleased(KeyEvent e) {
+        if (e.getKeyCode() == KeyEvent.VK_LEFT) {
+            heldInput &= ~GameSimulation.INPUT_LEFT;
+        }
+        if (e.getKeyCode() == KeyEvent.VK_RIGHT) {
+            heldInput &= ~GameSimulation.INPUT_RIGHT;
+        }
+    }
+
+    @Override
+    public void keyTyped(KeyEvent e) {}
+}
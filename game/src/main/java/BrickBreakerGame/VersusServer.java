@@ -0,0 +1,474 @@
+package BrickBreakerGame;
+
+import java.io.IOException;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.locks.LockSupport;
+
+// Versus Server Class
+// Authoritative host for head-to-head rooms. Each player in a room races their own simulation on
+// the room's layouts; the server steps all of them at the fixed tick and sends every client its
+// state once per tick. Bricks travel as per-row bitmasks of the cells that changed since the last
+// state the client acknowledged (nothing at all when the grid is untouched), positions are
+// quantized to 1/16 px, and a packet always fits one MTU. Rooms share nothing, so stepping is
+// spread over a fork-join pool like VectorEnv; socket I/O stays on the server thread.
+class VersusServer {
+    static final int DEFAULT_PORT = 4747;
+    static final int MAX_PLAYERS = 4;
+    static final int MAX_PACKET = 1200;
+    static final int HISTORY = 32; // sent grids kept as delta baselines, a power of two
+    static final int MAX_NET_BALLS = 64;
+    static final int MAX_NET_POWER_UPS = 32;
+    static final int REDUNDANT_INPUTS = 4;
+    private static final int MAX_QUEUED_INPUTS = 8;
+    private static final long TIMEOUT_NANOS = 5_000_000_000L;
+
+    // Packet types
+    static final byte JOIN = 1;   // client: int room
+    static final byte INPUT = 2;  // client: int seq, byte n, n inputs newest first, int acked tick
+    static final byte LEAVE = 3;  // client
+    static final byte STATE = 4;  // server: see encode
+    static final byte REJECT = 5; // server: room full
+    static final int END_OF_ROWS = 0xFF;
+
+    private final DatagramTransport transport;
+    private final GameConfig config;
+    private final long seed;
+    private final long tickNanos = (long) (GameSimulation.TICK_SECONDS * 1e9);
+    private final HashMap<Integer, Room> roomsById = new HashMap<>();
+    private final ArrayList<Room> rooms = new ArrayList<>();
+    private final HashMap<SocketAddress, Player> players = new HashMap<>();
+    private final ByteBuffer in = ByteBuffer.allocateDirect(MAX_PACKET);
+    private final ByteBuffer reject = ByteBuffer.wrap(new byte[] { REJECT });
+    private int serverTick = 0;
+    private volatile boolean running = false;
+
+    // Traffic counters
+    long statesSent = 0;
+    long fullStates = 0;
+    long bytesSent = 0;
+
+    // Parallel stepping: one reusable task per slice of rooms
+    private final ForkJoinPool pool;
+    private final Slice[] slices;
+
+    public VersusServer(DatagramTransport transport, GameConfig config, long seed, int threads) {
+        this.transport = transport;
+        this.config = config;
+        this.seed = seed;
+        if (threads > 1) {
+            pool = new ForkJoinPool(threads);
+            slices = new Slice[threads];
+            for (int t = 0; t < threads; t++) {
+                slices[t] = new Slice(t, threads);
+            }
+        } else {
+            pool = null;
+            slices = null;
+        }
+    }
+
+    public int roomCount() {
+        return rooms.size();
+    }
+
+    public int playerCount() {
+        return players.size();
+    }
+
+    // Positions travel as unsigned 1/16 px, velocities as signed 1/256 px per tick
+    static char position(double v) {
+        return (char) Math.max(0, Math.min(0xFFFF, Math.round(v * 16)));
+    }
+
+    static short velocity(double v) {
+        return (short) Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, Math.round(v * 256)));
+    }
+
+    // Serves at the fixed tick rate until stopped
+    public void run() throws IOException {
+        running = true;
+        long deadline = System.nanoTime() + tickNanos;
+        while (running) {
+            tick();
+            long wait;
+            while ((wait = deadline - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            deadline += tickNanos;
+            if (System.nanoTime() - deadline > GameSimulation.MAX_TICKS_PER_ADVANCE * tickNanos) {
+                deadline = System.nanoTime() + tickNanos;
+            }
+        }
+    }
+
+    public void stop() {
+        running = false;
+    }
+
+    // One server tick: read everything that arrived, step every room, send every player its state
+    public void tick() throws IOException {
+        long now = System.nanoTime();
+        receive(now);
+        expire(now);
+        serverTick++;
+
+        if (pool == null) {
+            stepRange(0, rooms.size());
+        } else {
+            for (Slice slice : slices) {
+                slice.reinitialize();
+            }
+            pool.invoke(slices[0]);
+        }
+
+        for (int r = 0; r < rooms.size(); r++) {
+            for (Player p : rooms.get(r).players) {
+                if (p != null) {
+                    statesSent++;
+                    bytesSent += p.out.remaining();
+                    if (p.sentFull) {
+                        fullStates++;
+                    }
+                    transport.send(p.out, p.address);
+                }
+            }
+        }
+    }
+
+    private void receive(long now) throws IOException {
+        SocketAddress from;
+        while (true) {
+            in.clear();
+            if ((from = transport.receive(in)) == null) {
+                return;
+            }
+            in.flip();
+            if (!in.hasRemaining()) {
+                continue;
+            }
+            byte type = in.get();
+            Player player = players.get(from);
+            if (type == JOIN && in.remaining() >= 4) {
+                join(from, in.getInt(), now);
+            } else if (player != null) {
+                player.heard = now;
+                if (type == INPUT) {
+                    player.receiveInput(in);
+                } else if (type == LEAVE) {
+                    remove(player);
+                }
+            }
+        }
+    }
+
+    private void join(SocketAddress from, int roomId, long now) throws IOException {
+        if (players.containsKey(from)) {
+            return; // a retried join that crossed our first state
+        }
+        Room room = roomsById.get(roomId);
+        if (room == null) {
+            room = new Room(GameRandom.mix(seed ^ roomId));
+            roomsById.put(roomId, room);
+            rooms.add(room);
+        }
+        int seat = room.freeSeat();
+        if (seat < 0) {
+            reject.rewind();
+            transport.send(reject, from);
+            if (room.count == 0) {
+                roomsById.remove(roomId);
+                rooms.remove(room);
+            }
+            return;
+        }
+        Player player = new Player(from, seat, new GameSimulation(room.seed, 0, config), now);
+        restart(player.sim, room.seed);
+        room.players[seat] = player;
+        room.count++;
+        players.put(from, player);
+    }
+
+    // Players that have gone quiet are dropped, and rooms with them
+    private void expire(long now) {
+        for (int r = rooms.size() - 1; r >= 0; r--) {
+            for (Player p : rooms.get(r).players) {
+                if (p != null && now - p.heard > TIMEOUT_NANOS) {
+                    remove(p);
+                }
+            }
+        }
+    }
+
+    private void remove(Player player) {
+        players.remove(player.address);
+        for (int r = 0; r < rooms.size(); r++) {
+            Room room = rooms.get(r);
+            if (room.players[player.seat] == player) {
+                room.players[player.seat] = null;
+                if (--room.count == 0) {
+                    roomsById.values().remove(room);
+                    rooms.remove(r);
+                }
+                return;
+            }
+        }
+    }
+
+    // Every player in a room gets the same layouts and the same random stream
+    private static void restart(GameSimulation sim, long roomSeed) {
+        sim.resetGame();
+        sim.setRandomState(roomSeed);
+        sim.setLayoutSeed(GameRandom.mix(~roomSeed));
+        sim.start();
+    }
+
+    private void stepRange(int from, int to) {
+        for (int r = from; r < to; r++) {
+            Room room = rooms.get(r);
+            for (Player p : room.players) {
+                if (p == null) {
+                    continue;
+                }
+                int input = p.nextInput();
+                if (p.sim.gameState == GameState.GAME_OVER) {
+                    if ((input & GameSimulation.INPUT_ADVANCE) != 0) {
+                        restart(p.sim, room.seed);
+                    }
+                } else {
+                    p.sim.tick(input);
+                }
+            }
+            for (Player p : room.players) {
+                if (p != null) {
+                    encode(p, room);
+                }
+            }
+        }
+    }
+
+    // STATE: int tick, int base tick (-1 = full grid), int last applied input, byte seat,
+    // byte game state, byte flags, short level, int score, byte lives, short paddle x, byte paddle
+    // speed; grid: byte rows, byte cols, short brick width, short brick height, byte top, float
+    // origin y, int rows generated, short total bricks, then (byte row, short changed columns,
+    // one byte per changed cell)... END_OF_ROWS; byte balls, (char x, char y, short vx, short vy)...;
+    // byte power-ups, (char x, char y, byte type)...; byte rivals, (byte seat, byte game state,
+    // short level, int score, byte lives)...
+    private void encode(Player p, Room room) {
+        GameSimulation sim = p.sim;
+        GameSnapshot grid = p.grid;
+        sim.bricks.saveTo(grid);
+        byte[] cells = grid.brickCells;
+        int cols = grid.brickCols;
+
+        // Diff against the newest grid the client confirmed, while it is still remembered
+        int base = p.ackedTick;
+        int slot = base & (HISTORY - 1);
+        byte[] baseCells = null;
+        if (base >= 0 && serverTick - base < HISTORY && p.sentTicks[slot] == base
+                && p.sentCols[slot] == cols && p.sentCells[slot].length == cells.length) {
+            baseCells = p.sentCells[slot];
+        } else {
+            base = -1;
+        }
+        slot = serverTick & (HISTORY - 1);
+        p.sentTicks[slot] = serverTick;
+        p.sentCells[slot] = cells;
+        p.sentCols[slot] = cols;
+        p.sentFull = base < 0;
+
+        ByteBuffer out = p.out;
+        out.clear();
+        out.put(STATE).putInt(serverTick).putInt(base).putInt(p.lastApplied);
+        out.put((byte) p.seat).put((byte) sim.gameState.ordinal()).put((byte) (sim.config.endless ? 1 : 0));
+        out.putShort((short) sim.level).putInt(sim.score).put((byte) Math.min(sim.lives, 255));
+        out.putShort((short) sim.playerX).put((byte) sim.paddleVelocity());
+
+        out.put((byte) grid.brickRows).put((byte) cols);
+        out.putShort((short) grid.brickWidth).putShort((short) grid.brickHeight);
+        out.put((byte) grid.brickTop).putFloat((float) grid.brickOriginY).putInt((int) grid.brickRowsGenerated);
+        out.putShort((short) sim.totalBricks);
+        if (cells != baseCells) { // copy-on-write: the same array means no brick changed
+            for (int r = 0; r < grid.brickRows; r++) {
+                int row = r * cols;
+                int changed = 0;
+                for (int c = 0; c < cols; c++) {
+                    if (cells[row + c] != (baseCells == null ? 0 : baseCells[row + c])) {
+                        changed |= 1 << c;
+                    }
+                }
+                if (changed != 0) {
+                    out.put((byte) r).putShort((short) changed);
+                    for (int c = 0; c < cols; c++) {
+                        if ((changed >>> c & 1) != 0) {
+                            out.put(cells[row + c]);
+                        }
+                    }
+                }
+            }
+        }
+        out.put((byte) END_OF_ROWS);
+
+        int balls = Math.min(sim.ballCount, MAX_NET_BALLS);
+        out.put((byte) balls);
+        for (int b = 0; b < balls; b++) {
+            out.putChar(position(sim.ballX[b])).putChar(position(sim.ballY[b]));
+            out.putShort(velocity(sim.ballVX[b])).putShort(velocity(sim.ballVY[b]));
+        }
+        int powerUps = Math.min(sim.powerUps.size(), MAX_NET_POWER_UPS);
+        out.put((byte) powerUps);
+        for (int i = 0; i < powerUps; i++) {
+            PowerUp u = sim.powerUps.get(i);
+            out.putChar(position(u.x)).putChar(position(u.y)).put((byte) u.type.ordinal());
+        }
+
+        out.put((byte) (room.count - 1));
+        for (Player rival : room.players) {
+            if (rival != null && rival != p) {
+                GameSimulation r = rival.sim;
+                out.put((byte) rival.seat).put((byte) r.gameState.ordinal());
+                out.putShort((short) r.level).putInt(r.score).put((byte) Math.min(r.lives, 255));
+            }
+        }
+        out.flip();
+    }
+
+    public void close() throws IOException {
+        stop();
+        if (pool != null) {
+            pool.shutdown();
+        }
+        transport.close();
+    }
+
+    private static final class Room {
+        final long seed;
+        final Player[] players = new Player[MAX_PLAYERS];
+        int count = 0;
+
+        Room(long seed) {
+            this.seed = seed;
+        }
+
+        int freeSeat() {
+            for (int s = 0; s < players.length; s++) {
+                if (players[s] == null) {
+                    return s;
+                }
+            }
+            return -1;
+        }
+    }
+
+    private static final class Player {
+        final SocketAddress address;
+        final int seat;
+        final GameSimulation sim;
+        long heard;
+
+        // Inputs received but not yet simulated, oldest first; one is consumed per tick
+        private final int[] queuedSeq = new int[MAX_QUEUED_INPUTS];
+        private final int[] queuedInput = new int[MAX_QUEUED_INPUTS];
+        private int queueHead = 0;
+        private int queueSize = 0;
+        private int lastReceived = 0;
+        private int held = 0; // movement repeated while the queue is dry
+        int lastApplied = 0;  // echoed back so the client can replay the rest
+
+        // Grids as sent at recent ticks; the arrays are copy-on-write, so keeping them is free
+        final int[] sentTicks = new int[HISTORY];
+        final byte[][] sentCells = new byte[HISTORY][];
+        final int[] sentCols = new int[HISTORY];
+        int ackedTick = -1;
+        boolean sentFull;
+        final GameSnapshot grid = new GameSnapshot();
+        final ByteBuffer out = ByteBuffer.allocate(MAX_PACKET);
+
+        Player(SocketAddress address, int seat, GameSimulation sim, long now) {
+            this.address = address;
+            this.seat = seat;
+            this.sim = sim;
+            heard = now;
+            Arrays.fill(sentTicks, -1);
+        }
+
+        void receiveInput(ByteBuffer in) {
+            if (in.remaining() < 5) {
+                return;
+            }
+            int seq = in.getInt();
+            int n = in.get() & 0xFF;
+            if (n > REDUNDANT_INPUTS || in.remaining() < n + 4) {
+                return;
+            }
+            // Newest first on the wire; queue oldest first, skipping ones already queued
+            int start = in.position();
+            for (int k = n - 1; k >= 0; k--) {
+                if (seq - k > lastReceived) {
+                    enqueue(seq - k, in.get(start + k));
+                    lastReceived = seq - k;
+                }
+            }
+            in.position(start + n);
+            ackedTick = Math.max(ackedTick, in.getInt());
+        }
+
+        private void enqueue(int seq, int input) {
+            if (queueSize == MAX_QUEUED_INPUTS) {
+                // The client runs ahead of us; drop the oldest rather than let latency build up
+                queueHead = (queueHead + 1) % MAX_QUEUED_INPUTS;
+                queueSize--;
+            }
+            int i = (queueHead + queueSize) % MAX_QUEUED_INPUTS;
+            queuedSeq[i] = seq;
+            queuedInput[i] = input;
+            queueSize++;
+        }
+
+        int nextInput() {
+            if (queueSize == 0) {
+                return held;
+            }
+            int input = queuedInput[queueHead];
+            lastApplied = queuedSeq[queueHead];
+            queueHead = (queueHead + 1) % MAX_QUEUED_INPUTS;
+            queueSize--;
+            held = input & (GameSimulation.INPUT_LEFT | GameSimulation.INPUT_RIGHT);
+            return input;
+        }
+    }
+
+    // A share of the rooms; the first slice forks the others, steps its own and joins them
+    private class Slice extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        
+        private final int index;
+        private final int count;
+
+        Slice(int index, int count) {
+            this.index = index;
+            this.count = count;
+        }
+
+        @Override
+        protected void compute() {
+            int n = rooms.size();
+            if (this != slices[0]) {
+                stepRange(n * index / count, n * (index + 1) / count);
+                return;
+            }
+            for (int t = 1; t < slices.length; t++) {
+                slices[t].fork();
+            }
+            stepRange(0, n / count);
+            for (int t = 1; t < slices.length; t++) {
+                slices[t].join();
+            }
+        }
+    }
+}